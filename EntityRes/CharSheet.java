@@ -211,6 +211,10 @@ public class CharSheet {
         this.save();
     }
 
+    public void setCurrentHPWithoutSave(int newHP) {
+        currentHP = newHP;
+    }
+
     public void addCurrentHP(int HPtoAdd) {
         currentHP = Math.min(currentHP + HPtoAdd, totalHP); // Don't exceed max HP
         this.save();
@@ -816,8 +820,17 @@ public class CharSheet {
      * Remove a specific quantity of an item. If quantity becomes 0 or less, remove the item entirely.
      */
     public void removeItemQuantity(Item item, int quantity) {
-        if (item == null) return;
-        
+        if (removeItemQuantityWithoutSave(item, quantity)) {
+            save();
+        }
+    }
+
+    /**
+     * As {@link #removeItemQuantity}, leaving the save to the caller; true if the item was found.
+     */
+    public boolean removeItemQuantityWithoutSave(Item item, int quantity) {
+        if (item == null) return false;
+
         for (Item existing : inventory) {
             if (existing.getName().equals(item.getName()) && 
                 existing.getClass().equals(item.getClass())) {
@@ -825,10 +838,10 @@ public class CharSheet {
                 if (existing.getQuantity() <= 0) {
                     inventory.remove(existing);
                 }
-                save();
-                return;
+                return true;
             }
         }
+        return false;
     }
 
     public int getWallet() {
@@ -0,0 +1,315 @@
+package EntityRes;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed damage-dice expression such as "d6", "2d8+1", "d10!" (exploding) or
+ * "d20adv" (roll twice, keep the higher; "dis" keeps the lower).
+ *
+ * Specs are immutable and interned: {@link #parse} returns the same instance for the same
+ * expression, however it was spelled, so they can be compared with {@code ==} and used as
+ * map keys. Min, max and (for plain rolls) the mean are worked out when a spec is first
+ * parsed; the full distribution of the total, which can be wide, only when something first
+ * asks for it.
+ *
+ * Dice stay strings in saved weapons and enemies; {@link Weapon}, {@link Objects.Enemy}
+ * and {@link Objects.Entity} parse them once and hand out specs from then on.
+ */
+public final class DiceSpec {
+
+    /** An exploding die rerolls at most this many times, which keeps its distribution finite. */
+    public static final int MAX_EXPLOSIONS = 3;
+
+    private static final int MAX_COUNT = 100;
+    private static final int MAX_SIDES = 1000;
+
+    private static final Pattern SYNTAX = Pattern.compile("(\\d*)d(\\d+)(!?)([+-]\\d+)?(adv|dis)?");
+
+    public enum Mode { NORMAL, ADVANTAGE, DISADVANTAGE }
+
+    private static final Map<String, DiceSpec> BY_TEXT = new ConcurrentHashMap<>();
+    private static final Map<String, DiceSpec> BY_CANONICAL = new ConcurrentHashMap<>();
+
+    public static final DiceSpec D4 = parse("d4");
+    public static final DiceSpec D6 = parse("d6");
+
+    private final int count;
+    private final int sides;
+    private final int modifier;
+    private final boolean exploding;
+    private final Mode mode;
+    private final String text;
+
+    private final int min;
+    private final int max;
+    private volatile double mean = Double.NaN;   // NaN until worked out
+    private volatile double[] distribution;      // distribution[t - min] = P(total == t); null until asked for
+
+    private DiceSpec(int count, int sides, int modifier, boolean exploding, Mode mode) {
+        this.count = count;
+        this.sides = sides;
+        this.modifier = modifier;
+        this.exploding = exploding;
+        this.mode = mode;
+        this.text = format();
+
+        int faces = exploding ? sides * (MAX_EXPLOSIONS + 1) : sides;
+        this.min = count + modifier;
+        this.max = count * faces + modifier;
+        if (mode == Mode.NORMAL) {
+            this.mean = count * dieMean() + modifier;
+        }
+    }
+
+    /**
+     * The spec for an expression, e.g. "2d6+1"; case and spaces are ignored, and a missing
+     * count means one die. Null stays null (an empty damage tier).
+     *
+     * @throws IllegalArgumentException if the expression is not valid dice
+     */
+    public static DiceSpec parse(String expression) {
+        if (expression == null) return null;
+        DiceSpec spec = BY_TEXT.get(expression);
+        if (spec != null) return spec;
+        spec = build(expression);
+        DiceSpec canonical = BY_CANONICAL.putIfAbsent(spec.text, spec);
+        if (canonical != null) spec = canonical;
+        BY_TEXT.putIfAbsent(expression, spec);
+        return spec;
+    }
+
+    /**
+     * Like {@link #parse}, but an invalid expression is reported once and read as a d6, so a
+     * bad entry in saved data cannot stop a weapon or enemy from loading.
+     */
+    public static DiceSpec parseOrDefault(String expression) {
+        try {
+            return parse(expression);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown damage dice '" + expression + "', using d6: " + e.getMessage());
+            BY_TEXT.putIfAbsent(expression, D6);
+            return D6;
+        }
+    }
+
+    /** Parse every tier of a damage-dice array; null tiers stay null. */
+    public static DiceSpec[] parseAll(String[] expressions) {
+        if (expressions == null) return null;
+        DiceSpec[] specs = new DiceSpec[expressions.length];
+        for (int i = 0; i < specs.length; i++) {
+            specs[i] = parseOrDefault(expressions[i]);
+        }
+        return specs;
+    }
+
+    private static DiceSpec build(String expression) {
+        String compact = expression.replaceAll("\\s+", "").toLowerCase();
+        Matcher m = SYNTAX.matcher(compact);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("not a dice expression");
+        }
+        try {
+            int count = m.group(1).isEmpty() ? 1 : Integer.parseInt(m.group(1));
+            int sides = Integer.parseInt(m.group(2));
+            int modifier = m.group(4) == null ? 0 : Integer.parseInt(m.group(4));
+            if (count < 1 || count > MAX_COUNT) {
+                throw new IllegalArgumentException("dice count must be 1-" + MAX_COUNT);
+            }
+            if (sides < 1 || sides > MAX_SIDES) {
+                throw new IllegalArgumentException("die sides must be 1-" + MAX_SIDES);
+            }
+            Mode mode = m.group(5) == null ? Mode.NORMAL
+                : m.group(5).equals("adv") ? Mode.ADVANTAGE : Mode.DISADVANTAGE;
+            return new DiceSpec(count, sides, modifier, !m.group(3).isEmpty(), mode);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("number out of range");
+        }
+    }
+
+    /**
+     * One die as runs of equally likely faces: {first face, last face, chance of each}. A
+     * plain die is one run; an exploding one adds a run per reroll, since each top face
+     * rolls again and adds, until MAX_EXPLOSIONS rerolls have been made.
+     */
+    private double[][] dieRuns() {
+        if (!exploding) {
+            return new double[][] {{1, sides, 1.0 / sides}};
+        }
+        double[][] runs = new double[MAX_EXPLOSIONS + 1][];
+        double reach = 1.0;
+        for (int depth = 0; depth <= MAX_EXPLOSIONS; depth++) {
+            int base = depth * sides;
+            int lastFace = depth < MAX_EXPLOSIONS ? sides - 1 : sides;
+            runs[depth] = new double[] {base + 1, base + lastFace, reach / sides};
+            reach /= sides;
+        }
+        return runs;
+    }
+
+    private double dieMean() {
+        double m = 0;
+        for (double[] run : dieRuns()) {
+            m += run[2] * (run[0] + run[1]) * (run[1] - run[0] + 1) / 2;
+        }
+        return m;
+    }
+
+    /**
+     * The distribution of the total, built on first use: the sum of count dice, then
+     * advantage over two such sums. Racing threads may both build it; they get equal arrays.
+     */
+    private double[] distribution() {
+        double[] d = distribution;
+        if (d != null) return d;
+        double[][] runs = dieRuns();
+        double[] sum = {1.0};
+        for (int i = 0; i < count; i++) {
+            sum = addDie(sum, runs);
+        }
+        sum = Arrays.copyOfRange(sum, count, sum.length);  // totals below count are impossible
+        if (mode != Mode.NORMAL) {
+            sum = keepOneOfTwo(sum, mode == Mode.ADVANTAGE);
+        }
+        distribution = sum;
+        return sum;
+    }
+
+    /**
+     * Convolve a distribution with one die. Each run of equal faces adds a sliding-window sum
+     * of {@code pmf}, read off its prefix sums, so a die costs O(width) rather than
+     * O(width x sides) and even 100d1000 builds in milliseconds.
+     */
+    private static double[] addDie(double[] pmf, double[][] runs) {
+        int n = pmf.length;
+        double[] prefix = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            prefix[i + 1] = prefix[i] + pmf[i];
+        }
+        int widest = (int) runs[runs.length - 1][1];
+        double[] out = new double[n + widest];
+        for (double[] run : runs) {
+            int lo = (int) run[0];
+            int hi = (int) run[1];
+            double chance = run[2];
+            for (int k = lo; k < n + hi; k++) {
+                // out[k] gets pmf[k - hi .. k - lo] once per face in the run
+                int from = Math.max(0, k - hi);
+                int to = Math.min(n - 1, k - lo);
+                out[k] += chance * Math.max(0, prefix[to + 1] - prefix[from]);
+            }
+        }
+        return out;
+    }
+
+    /** Distribution of the higher (or lower) of two independent rolls of {@code pmf}. */
+    private static double[] keepOneOfTwo(double[] pmf, boolean higher) {
+        double[] out = new double[pmf.length];
+        double below = 0;
+        for (int i = 0; i < pmf.length; i++) {
+            double atOrBelow = below + pmf[i];
+            // P(max == i) = F(i)^2 - F(i-1)^2; P(min == i) = S(i)^2 - S(i+1)^2 with S = 1 - F(i-1)
+            out[i] = higher
+                ? atOrBelow * atOrBelow - below * below
+                : (1 - below) * (1 - below) - (1 - atOrBelow) * (1 - atOrBelow);
+            below = atOrBelow;
+        }
+        return out;
+    }
+
+    private String format() {
+        StringBuilder sb = new StringBuilder();
+        if (count > 1) sb.append(count);
+        sb.append('d').append(sides);
+        if (exploding) sb.append('!');
+        if (modifier > 0) sb.append('+').append(modifier);
+        if (modifier < 0) sb.append(modifier);
+        if (mode == Mode.ADVANTAGE) sb.append("adv");
+        if (mode == Mode.DISADVANTAGE) sb.append("dis");
+        return sb.toString();
+    }
+
+    /** Roll the expression, matching {@link #getChance} exactly. */
+    public int roll(RandomGenerator rng) {
+        int total = rollOnce(rng);
+        if (mode == Mode.ADVANTAGE) return Math.max(total, rollOnce(rng));
+        if (mode == Mode.DISADVANTAGE) return Math.min(total, rollOnce(rng));
+        return total;
+    }
+
+    private int rollOnce(RandomGenerator rng) {
+        int total = modifier;
+        for (int i = 0; i < count; i++) {
+            int face = rng.nextInt(1, sides + 1);
+            total += face;
+            for (int depth = 0; exploding && face == sides && depth < MAX_EXPLOSIONS; depth++) {
+                face = rng.nextInt(1, sides + 1);
+                total += face;
+            }
+        }
+        return total;
+    }
+
+    // ===== QUERIES =====
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getSides() {
+        return sides;
+    }
+
+    public int getModifier() {
+        return modifier;
+    }
+
+    public boolean isExploding() {
+        return exploding;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** A single plain die with no modifier, e.g. "d8". */
+    public boolean isSingleDie() {
+        return count == 1 && modifier == 0 && !exploding && mode == Mode.NORMAL;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        double m = mean;
+        if (Double.isNaN(m)) {
+            double[] d = distribution();
+            m = 0;
+            for (int i = 0; i < d.length; i++) {
+                m += (min + i) * d[i];
+            }
+            mean = m;
+        }
+        return m;
+    }
+
+    /** Chance that a roll totals exactly this much. */
+    public double getChance(int total) {
+        return total >= min && total <= max ? distribution()[total - min] : 0;
+    }
+
+    /** Canonical expression, e.g. "2d6+1"; parsing it gives back this spec. */
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -6,6 +6,7 @@ public class Weapon extends Item {
 
     // Fields
     private String[] damageDice;  // Damage dice per tier [tier1, tier2, tier3], e.g. ["d6", "d6", "d10"]
+    private transient DiceSpec[] damageSpecs;  // damageDice parsed on first use; not persisted
     private String statType;      // Stat modifier type used for attack rolls
     private String ammoType;      // Ammo type required (null for melee weapons), e.g. "12 Gauge", "Arrow"
     private int[] modifiedAttributes;
@@ -57,6 +58,7 @@ public class Weapon extends Item {
     // Methods
     public void setDamageDice(String[] damageDice) {
         this.damageDice = damageDice;
+        this.damageSpecs = null;
     }
 
     public String[] getDamageDice() {
@@ -66,6 +68,16 @@ public class Weapon extends Item {
         }
         return damageDice != null ? damageDice : new String[]{"d4", "d4", "d6"};
     }
+
+    /**
+     * Damage dice per tier, parsed once from {@link #getDamageDice()}; tiers may be null.
+     */
+    public DiceSpec[] getDamageSpecs() {
+        if (damageSpecs == null) {
+            damageSpecs = DiceSpec.parseAll(getDamageDice());
+        }
+        return damageSpecs;
+    }
     
     public String getStatType() {
         return statType != null ? statType : "STRENGTH";
@@ -91,9 +103,9 @@ public class Weapon extends Item {
      * Get the legacy-style flat damage value derived from the first damage die.
      */
     public int getDamageValue() {
-        String[] dice = getDamageDice();
-        if (dice.length > 0) {
-            return getAverageDieValue(dice[0]);
+        DiceSpec[] dice = getDamageSpecs();
+        if (dice.length > 0 && dice[0] != null) {
+            return (int) dice[0].getMean();
         }
         return damage > 0 ? damage : 4;
     }
@@ -121,6 +133,7 @@ public class Weapon extends Item {
     public void setDamage(int damage) {
         this.damage = damage;
         this.damageDice = convertLegacyDamage(damage);
+        this.damageSpecs = null;
     }
 
     @Deprecated
@@ -128,19 +141,6 @@ public class Weapon extends Item {
         return getDamageValue();
     }
     
-    private int getAverageDieValue(String die) {
-        if (die == null) return 4;
-        switch (die.toLowerCase()) {
-            case "d4": return 2;
-            case "d6": return 3;
-            case "d8": return 4;
-            case "d10": return 5;
-            case "d12": return 6;
-            case "d20": return 10;
-            default: return 4;
-        }
-    }
-
     public void setModifiedAttributes(int[] modifiedAttributes) {
         // Always store as 6-element array
         this.modifiedAttributes = new int[6];
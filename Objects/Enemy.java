@@ -1,6 +1,7 @@
 package Objects;
 
 import EntityRes.ColorUtils;
+import EntityRes.DiceSpec;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.io.*;
@@ -28,7 +29,8 @@ public class Enemy extends GridObject {
     private String spritePath; // Path to enemy sprite image (e.g., "sprites/enemies/spider.png")
     private transient int acAdjustment = 0;  // Temporary in-battle AC tweak; not persisted, resets each battle
     private transient int dexAdjustment = 0;  // Temporary in-battle Dexterity tweak; not persisted, resets each battle
-    private transient String[] diceOverride = new String[3];  // Temporary in-battle damage dice tweaks per tier; null = use real die
+    private transient DiceSpec[] diceOverride = new DiceSpec[3];  // Temporary in-battle damage dice tweaks per tier; null = use real die
+    private transient DiceSpec[] damageSpecs;  // damageDice parsed on first use; not persisted
     private List<String> tags = new ArrayList<>();  // Free-form + predefined tags for filtering; empty list default covers legacy saves
 
     // Legacy field for backward compatibility
@@ -202,9 +204,21 @@ public class Enemy extends GridObject {
      * Get damage dice per tier [tier1, tier2, tier3], with any temporary battle adjustment applied.
      */
     public String[] getDamageDice() {
-        ensureDiceOverride();
-        String[] base = getBaseDamageDice();
+        DiceSpec[] specs = getDamageSpecs();
         String[] result = new String[3];
+        for (int i = 0; i < 3; i++) {
+            result[i] = specs[i] != null ? specs[i].toString() : null;
+        }
+        return result;
+    }
+
+    /**
+     * Parsed damage dice per tier [tier1, tier2, tier3], with any temporary battle adjustment applied.
+     */
+    public DiceSpec[] getDamageSpecs() {
+        ensureDiceOverride();
+        DiceSpec[] base = getBaseDamageSpecs();
+        DiceSpec[] result = new DiceSpec[3];
         for (int i = 0; i < 3; i++) {
             result[i] = diceOverride[i] != null ? diceOverride[i] : base[i];
         }
@@ -218,7 +232,7 @@ public class Enemy extends GridObject {
      */
     private void ensureDiceOverride() {
         if (diceOverride == null) {
-            diceOverride = new String[3];
+            diceOverride = new DiceSpec[3];
         }
     }
 
@@ -238,13 +252,25 @@ public class Enemy extends GridObject {
         return base;
     }
 
+    /**
+     * This enemy's real damage dice, parsed once and ignoring any temporary battle override.
+     * The returned array is shared; callers must not modify it.
+     */
+    public DiceSpec[] getBaseDamageSpecs() {
+        if (damageSpecs == null) {
+            damageSpecs = DiceSpec.parseAll(getBaseDamageDice());
+        }
+        return damageSpecs;
+    }
+
     public void setDamageDice(String[] dice) {
         this.damageDice = dice;
+        this.damageSpecs = null;
     }
 
     public String getDiceOverride(int tier) {
         ensureDiceOverride();
-        return diceOverride[tier];
+        return diceOverride[tier] != null ? diceOverride[tier].toString() : null;
     }
 
     /**
@@ -253,7 +279,7 @@ public class Enemy extends GridObject {
      */
     public void setDiceOverride(int tier, String die) {
         ensureDiceOverride();
-        diceOverride[tier] = die;
+        diceOverride[tier] = DiceSpec.parseOrDefault(die);
     }
 
     @Deprecated
@@ -325,9 +351,10 @@ public class Enemy extends GridObject {
         return instanceNumber;
     }
 
-    public void moveTo(int r, int c) {
-        row = r;
-        col = c;
+    /** Change the maximum health; current health is capped to it. */
+    public void setMaxHealth(int maxHealth) {
+        this.maxHealth = maxHealth;
+        this.health = Math.min(health, maxHealth);
     }
 
     public void setHealth(int hp) {
@@ -1,17 +1,20 @@
 package Objects;
 
 import EntityRes.CharSheet;
+import EntityRes.DiceSpec;
 import EntityRes.Status;
 import EntityRes.Weapon;
 
 public class Entity extends GridObject {
 
+    private static final DiceSpec[] UNARMED_DICE = {DiceSpec.D4, DiceSpec.D4, DiceSpec.D4};
+
     protected CharSheet charSheet;
     private int instanceNumber = 0;  // 0 = not set (party entity), >0 = non-party instance number
     private String baseName;  // Original name without instance number
     private int acAdjustment = 0;  // Temporary in-battle AC tweak; not persisted, resets each battle
     private final int[] statAdjustment = new int[6];  // Temporary in-battle stat tweaks, indexed by CharSheet.STRENGTH..CHARISMA
-    private final String[] diceOverride = new String[3];  // Temporary in-battle damage dice tweaks per tier; null = use weapon's real die
+    private final DiceSpec[] diceOverride = new DiceSpec[3];  // Temporary in-battle damage dice tweaks per tier; null = use weapon's real die
 
     public Entity(int row, int col, CharSheet charSheet) {
         super(row, col);
@@ -104,8 +107,20 @@ public class Entity extends GridObject {
      * Get damage dice from equipped weapon, with any temporary battle adjustment applied per tier.
      */
     public String[] getDamageDice() {
-        String[] base = getBaseDamageDice();
+        DiceSpec[] specs = getDamageSpecs();
         String[] result = new String[3];
+        for (int i = 0; i < 3; i++) {
+            result[i] = specs[i] != null ? specs[i].toString() : null;
+        }
+        return result;
+    }
+
+    /**
+     * Parsed damage dice per tier from the equipped weapon, with any temporary battle adjustment applied.
+     */
+    public DiceSpec[] getDamageSpecs() {
+        DiceSpec[] base = getBaseDamageSpecs();
+        DiceSpec[] result = new DiceSpec[3];
         for (int i = 0; i < 3; i++) {
             result[i] = diceOverride[i] != null ? diceOverride[i] : base[i];
         }
@@ -125,8 +140,21 @@ public class Entity extends GridObject {
         return base;
     }
 
+    /**
+     * The equipped weapon's parsed damage dice per tier, ignoring any temporary battle override.
+     */
+    public DiceSpec[] getBaseDamageSpecs() {
+        Weapon weapon = charSheet.getEquippedWeapon();
+        DiceSpec[] weaponDice = weapon != null ? weapon.getDamageSpecs() : UNARMED_DICE;
+        DiceSpec[] base = new DiceSpec[3];
+        for (int i = 0; i < 3; i++) {
+            base[i] = weaponDice != null && i < weaponDice.length ? weaponDice[i] : null;
+        }
+        return base;
+    }
+
     public String getDiceOverride(int tier) {
-        return diceOverride[tier];
+        return diceOverride[tier] != null ? diceOverride[tier].toString() : null;
     }
 
     /**
@@ -134,7 +162,7 @@ public class Entity extends GridObject {
      * Not persisted to the Weapon, so it resets whenever a new Entity is created.
      */
     public void setDiceOverride(int tier, String die) {
-        diceOverride[tier] = die;
+        diceOverride[tier] = DiceSpec.parseOrDefault(die);
     }
 
     /**
@@ -179,11 +207,6 @@ public class Entity extends GridObject {
         return baseName;
     }
 
-    public void moveTo(int r, int c) {
-        row = r;
-        col = c;
-    }
-
     public void takeDamage(int dmg) {
         charSheet.setCurrentHP(charSheet.getCurrentHP() - dmg);
         charSheet.save();
@@ -2,9 +2,20 @@ package Objects;
 
 public abstract class GridObject {
 
+    /**
+     * Notified after an object's tile changes, so whatever board holds it can keep
+     * its per-cell lookups in step without rescanning every object.
+     */
+    public interface PositionListener {
+        void positionChanged(GridObject obj, int oldRow, int oldCol);
+    }
+
     protected int row;
     protected int col;
 
+    // Owning board's index hook; transient so it never ends up in saved JSON
+    private transient PositionListener positionListener;
+
     public GridObject(int row, int col) {
         this.row = row;
         this.col = col;
@@ -18,16 +29,33 @@ public abstract class GridObject {
         return col;
     }
 
+    /**
+     * Single-axis setters each fire their own move; prefer {@link #moveTo} when changing
+     * both, so an indexed object never passes through an intermediate tile.
+     */
     public void setRow(int row) {
-        this.row = row;
+        moveTo(row, col);
     }
 
     public void setCol(int col) {
-        this.col = col;
+        moveTo(row, col);
     }
 
     public void moveTo(int r, int c) {
+        int oldRow = row;
+        int oldCol = col;
         this.row = r;
         this.col = c;
+        if (positionListener != null && (oldRow != r || oldCol != c)) {
+            positionListener.positionChanged(this, oldRow, oldCol);
+        }
+    }
+
+    public PositionListener getPositionListener() {
+        return positionListener;
+    }
+
+    public void setPositionListener(PositionListener positionListener) {
+        this.positionListener = positionListener;
     }
 }
@@ -0,0 +1,56 @@
+package Objects;
+
+/**
+ * A squad of identical enemies fighting as one combatant: one tile, one initiative slot,
+ * one timeline entry and one pooled health bar, so an army-scale encounter costs no more to
+ * run than a handful of single enemies.
+ *
+ * The pool starts at members x the template's health. Damage comes off the pool in bulk,
+ * and a member falls for every full member's worth lost. Each surviving member attacks:
+ * the damage dice are one member's, and an attack rolls its tier's dice once per survivor
+ * (see {@code CombatManager.getAttackingMembers}), so the squad's output shrinks as it takes
+ * losses. Temporary dice overrides apply per member.
+ */
+public class Squad extends Enemy {
+
+    /** Largest squad that can be formed. */
+    public static final int MAX_MEMBERS = 50;
+
+    private final int members;
+    private final int memberHealth;
+
+    public Squad(Enemy template, int members, int row, int col) {
+        super(template, row, col);
+        this.members = Math.max(1, Math.min(MAX_MEMBERS, members));
+        this.memberHealth = Math.max(1, template.getMaxHealth());
+        setMaxHealth(this.members * memberHealth);
+        setHealth(this.members * memberHealth);
+    }
+
+    /** Members the squad was formed with. */
+    public int getMembers() {
+        return members;
+    }
+
+    /** One member's health. */
+    public int getMemberHealth() {
+        return memberHealth;
+    }
+
+    /** Members still standing: one for every started member's worth of pooled health. */
+    public int getSurvivors() {
+        return survivorsAt(getHealth());
+    }
+
+    /** Members standing with this much pooled health. */
+    public int survivorsAt(int health) {
+        if (health <= 0) return 0;
+        return (health + memberHealth - 1) / memberHealth;
+    }
+
+    @Override
+    public String getName() {
+        int instance = getInstanceNumber();
+        return getBaseName() + " Squad" + (instance > 0 ? " #" + instance : "");
+    }
+}
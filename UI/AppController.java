@@ -1,6 +1,7 @@
 package UI;
 
 import UI.Battle.BattleView;
+import UI.Battle.ShapeMask;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.layout.StackPane;
@@ -88,7 +89,7 @@ public class AppController {
         navigateToBattle(rows, cols, null, themeName);
     }
 
-    public void navigateToBattle(int rows, int cols, boolean[][] mask, String themeName) {
+    public void navigateToBattle(int rows, int cols, ShapeMask mask, String themeName) {
         try {
             if (characterSheetView == null) {
                 characterSheetView = new CharacterSheetView(this);
@@ -0,0 +1,158 @@
+package UI.Battle;
+
+import EntityRes.DiceSpec;
+import Objects.GridObject;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact odds for one attack under the margin-based tier system in {@link CombatManager}:
+ * the chance of each tier from the d20 against the target's AC, and the full probability
+ * distribution of the damage dealt.
+ *
+ * Damage follows {@link DiceRollPanel}: the tier's dice are summed, a natural 20
+ * multiplies that sum by 1.5 (rounded up), and the ability modifier is then added with
+ * the total floored at 0. Each tier's dice sum is an exact convolution of the dice's
+ * {@link DiceSpec} distributions, so there is no sampling error.
+ *
+ * A squad rolls its tier dice once per attacking member. Results depend only on the dice,
+ * member count, attack modifier and AC, and are cached by those, so panels and hover popups
+ * can ask for them on every refresh.
+ */
+public final class AttackOdds {
+
+    private record Key(List<DiceSpec> dice, int members, int attackModifier, int targetAC) {}
+
+    private static final Map<Key, AttackOdds> CACHE = new ConcurrentHashMap<>();
+
+    private final double[] tierChance = new double[4];  // index 0 = miss
+    private final double critChance;
+    private final double[] damage;                      // damage[d] = P(total damage == d)
+    private final double expectedDamage;
+
+    private AttackOdds(DiceSpec[] weaponDice, int members, int attackModifier, int targetAC) {
+        int abilityModifier = getAbilityModifier(attackModifier);
+        double[][] tierSums = new double[4][];
+        int[] tierLowest = new int[4];
+        double[] pmf = new double[1];
+        double crit = 0;
+        for (int d20 = 1; d20 <= 20; d20++) {
+            int tier = CombatManager.getAttackTier(CombatManager.calculateMargin(d20, attackModifier, targetAC));
+            tierChance[tier] += 1.0 / 20;
+            if (tier == 0) {
+                pmf[0] += 1.0 / 20;
+                continue;
+            }
+            if (tierSums[tier] == null) {
+                List<DiceSpec> dice = CombatManager.getDiceForTier(weaponDice, tier, members);
+                tierSums[tier] = diceSum(dice);
+                tierLowest[tier] = dice.stream().mapToInt(DiceSpec::getMin).sum();
+            }
+            double[] sums = tierSums[tier];
+            boolean critical = d20 == 20;
+            if (critical) {
+                crit = 1.0 / 20;
+            }
+            for (int s = 0; s < sums.length; s++) {
+                if (sums[s] == 0) continue;
+                int sum = tierLowest[tier] + s;
+                int rolled = critical ? (int) Math.ceil(sum * 1.5) : sum;
+                int total = Math.max(0, rolled + abilityModifier);
+                if (total >= pmf.length) {
+                    pmf = Arrays.copyOf(pmf, total + 1);
+                }
+                pmf[total] += sums[s] / 20;
+            }
+        }
+        this.critChance = crit;
+        this.damage = pmf;
+        double mean = 0;
+        for (int d = 0; d < pmf.length; d++) {
+            mean += d * pmf[d];
+        }
+        this.expectedDamage = mean;
+    }
+
+    /** Odds for an attack with these damage dice, attack modifier and target AC (cached). */
+    public static AttackOdds of(DiceSpec[] weaponDice, int attackModifier, int targetAC) {
+        return of(weaponDice, 1, attackModifier, targetAC);
+    }
+
+    /** Odds for {@code members} attacking together, each rolling these dice (cached). */
+    public static AttackOdds of(DiceSpec[] weaponDice, int members, int attackModifier, int targetAC) {
+        List<DiceSpec> dice = weaponDice == null ? List.of() : Arrays.asList(weaponDice.clone());
+        int attackers = Math.max(1, members);
+        return CACHE.computeIfAbsent(new Key(dice, attackers, attackModifier, targetAC),
+            k -> new AttackOdds(weaponDice, attackers, attackModifier, targetAC));
+    }
+
+    /** Odds for this unit's attack as it stands, squad losses included (cached). */
+    public static AttackOdds of(GridObject attacker, int targetAC) {
+        return of(CombatManager.getDamageDice(attacker), CombatManager.getAttackingMembers(attacker),
+            CombatManager.getAttackModifier(attacker), targetAC);
+    }
+
+    /** Ability damage bonus for an attack modifier, as applied by {@link DiceRollPanel}. */
+    public static int getAbilityModifier(int attackModifier) {
+        return Math.floorDiv(attackModifier + 2, 2);
+    }
+
+    /** Distribution of the sum of the given dice; index = total above the lowest possible sum. */
+    private static double[] diceSum(List<DiceSpec> dice) {
+        double[] sum = {1.0};
+        for (DiceSpec die : dice) {
+            int span = die.getMax() - die.getMin();
+            double[] next = new double[sum.length + span];
+            for (int s = 0; s < sum.length; s++) {
+                if (sum[s] == 0) continue;
+                for (int k = 0; k <= span; k++) {
+                    next[s + k] += sum[s] * die.getChance(die.getMin() + k);
+                }
+            }
+            sum = next;
+        }
+        return sum;
+    }
+
+    // ===== QUERIES =====
+
+    public double getHitChance() {
+        return 1 - tierChance[0];
+    }
+
+    /** Chance of landing exactly this tier (0 = miss, 1-3 = hit tier). */
+    public double getTierChance(int tier) {
+        return tier >= 0 && tier < tierChance.length ? tierChance[tier] : 0;
+    }
+
+    /** Chance of a natural 20 that also hits. */
+    public double getCritChance() {
+        return critChance;
+    }
+
+    public double getExpectedDamage() {
+        return expectedDamage;
+    }
+
+    /** Highest damage the attack can deal. */
+    public int getMaxDamage() {
+        return damage.length - 1;
+    }
+
+    /** Chance of dealing exactly this much damage (misses count as 0). */
+    public double getDamageChance(int amount) {
+        return amount >= 0 && amount < damage.length ? damage[amount] : 0;
+    }
+
+    /** Chance of dealing at least this much damage, i.e. of dropping a target with that much health. */
+    public double getKillChance(int health) {
+        if (health <= 0) return 1;
+        double p = 0;
+        for (int d = Math.min(health, damage.length); d < damage.length; d++) {
+            p += damage[d];
+        }
+        return Math.min(1, p);
+    }
+}
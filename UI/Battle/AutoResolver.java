@@ -0,0 +1,213 @@
+package UI.Battle;
+
+import EntityRes.CharSheet;
+import EntityRes.Status;
+import Objects.Enemy;
+import Objects.Entity;
+import Objects.GridObject;
+import java.util.SplittableRandom;
+
+/**
+ * Fast-forwards the rest of a battle: plays every remaining turn headlessly, then writes
+ * the result back to the live board in one go.
+ *
+ * The battle is captured into a {@link CombatModel} and played on a {@link Playout}, from
+ * the current combatant's turn in the live turn order, with dice drawn from a seed and both
+ * sides following the playout's default policy. Turn starts apply damage- and
+ * heal-over-time statuses as {@link CharSheet#procStatus} does, and ranged attackers spend
+ * ammunition and stop attacking when they run out.
+ *
+ * Nothing live is touched until {@link #apply}: final health, expired statuses, spent ammo,
+ * positions and deaths are written then, and each sheet is saved once, not once per hit.
+ */
+public final class AutoResolver {
+
+    /**
+     * How the fast-forward ended; {@code winner} is +1 party, -1 enemies, 0 undecided. Damage
+     * is counted for the battle stats as live attacks are: dealt by anyone, taken by entities.
+     */
+    public record Outcome(int winner, int rounds, int turns, int partyLost, int enemiesDefeated,
+            int damageDealt, int damageTaken) {}
+
+    private static final int EXPIRED = Integer.MIN_VALUE;
+
+    private final CombatModel model;
+    private final Playout.Order order;
+    private final int[] startAmmo;          // -1 where unlimited
+
+    // Over-time statuses per unit, ticked at the unit's turn start; empty for enemies
+    private final int[][] statusType;
+    private final int[][] statusMagnitude;
+    private final int[][] statusDuration;
+
+    // Filled by resolve()
+    private Playout run;
+    private int[] turnStarts;
+    private int next = -1;                  // unit whose turn comes up after the last one played
+    private Outcome outcome;
+
+    private AutoResolver(CombatModel model, Playout.Order order) {
+        this.model = model;
+        this.order = order;
+        int n = model.unitCount;
+        startAmmo = new int[n];
+        statusType = new int[n][];
+        statusMagnitude = new int[n][];
+        statusDuration = new int[n][];
+        for (int i = 0; i < n; i++) {
+            startAmmo[i] = CombatManager.getAmmoCount(model.source[i]);
+            Status[] statuses = model.source[i] instanceof Entity e ? e.getCharSheet().getStatus() : new Status[0];
+            statusType[i] = new int[statuses.length];
+            statusMagnitude[i] = new int[statuses.length];
+            statusDuration[i] = new int[statuses.length];
+            for (int k = 0; k < statuses.length; k++) {
+                statusType[i][k] = statuses[k].getEffectType();
+                statusMagnitude[i][k] = statuses[k].getMagnitude();
+                statusDuration[i][k] = statuses[k].getDuration();
+            }
+        }
+    }
+
+    /**
+     * Capture a battle that is under way. Call on the FX thread; null if the battle hasn't
+     * started.
+     */
+    public static AutoResolver of(BattleGrid grid, TurnManager turns) {
+        if (!turns.isBattleStarted()) return null;
+        CombatModel model = CombatModel.capture(grid);
+        return new AutoResolver(model, Playout.Order.of(model, turns));
+    }
+
+    /**
+     * Play the remaining turns, for at most {@link BattleSimulator#MAX_ROUNDS} rounds.
+     * Touches nothing live.
+     */
+    public Outcome resolve(long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        run = new Playout(model);
+        run.reset();
+        System.arraycopy(startAmmo, 0, run.ammo, 0, startAmmo.length);
+        turnStarts = new int[model.unitCount];
+        int[][] duration = new int[model.unitCount][];
+        for (int i = 0; i < duration.length; i++) {
+            duration[i] = statusDuration[i].clone();
+        }
+
+        int turn = run.setUpOrder(order, rng);
+        int rounds = 0;
+        int turns = 0;
+        boolean current = true;  // the live combatant's turn has already started
+        while (run.order.length > 0 && run.winner() == 0) {
+            int actor = run.order[turn];
+            if (run.health[actor] > 0) {
+                if (!current) {
+                    startTurn(actor, duration[actor]);
+                }
+                run.takeTurn(actor, rng);
+                turns++;
+            }
+            current = false;
+            if (++turn == run.order.length) {
+                turn = 0;
+                if (++rounds >= BattleSimulator.MAX_ROUNDS) break;
+            }
+        }
+        for (int k = 0; k < run.order.length; k++) {
+            int unit = run.order[(turn + k) % run.order.length];
+            if (run.health[unit] > 0) {
+                next = unit;
+                break;
+            }
+        }
+
+        int partyLost = 0;
+        int enemiesDefeated = 0;
+        int damageDealt = 0;
+        int damageTaken = 0;
+        for (int i = 0; i < model.unitCount; i++) {
+            damageDealt += run.damageTaken[i];
+            if (!model.enemy[i]) damageTaken += run.damageTaken[i];
+            if (run.health[i] > 0) continue;
+            if (model.enemy[i]) enemiesDefeated++; else partyLost++;
+        }
+        outcome = new Outcome(run.winner(), rounds, turns, partyLost, enemiesDefeated, damageDealt, damageTaken);
+        return outcome;
+    }
+
+    /** Damage and healing over time at a unit's turn start; damage over time never kills. */
+    private void startTurn(int unit, int[] duration) {
+        turnStarts[unit]++;
+        for (int k = 0; k < duration.length; k++) {
+            if (duration[k] == EXPIRED) continue;
+            if (statusType[unit][k] == Status.DAMAGE_OVER_TIME) {
+                run.health[unit] = Math.max(1, run.health[unit] - statusMagnitude[unit][k]);
+            } else if (statusType[unit][k] == Status.HEAL_OVER_TIME) {
+                run.health[unit] = Math.min(model.maxHealth[unit], run.health[unit] + statusMagnitude[unit][k]);
+            }
+            // As Status.tick(): counts down, expires on reaching 0; permanent ones stay
+            if (duration[k] > 0 && --duration[k] == 0) {
+                duration[k] = EXPIRED;
+            }
+        }
+    }
+
+    /**
+     * Write the resolved battle back: deaths first (off the grid and out of the turn order),
+     * then health, statuses, ammo and positions of the survivors, and the turn order moved on
+     * to whoever acts next. Battle stats are the caller's, from the {@link Outcome}. Call on
+     * the FX thread after {@link #resolve}.
+     */
+    public void apply(BattleGrid grid, TurnManager turns) {
+        if (outcome == null) {
+            throw new IllegalStateException("resolve() first");
+        }
+        for (int i = 0; i < model.unitCount; i++) {
+            GridObject unit = model.source[i];
+            if (unit instanceof Entity e) {
+                CharSheet sheet = e.getCharSheet();
+                sheet.setCurrentHPWithoutSave(run.health[i]);
+                tickStatuses(sheet, turnStarts[i]);
+                if (startAmmo[i] > 0) {
+                    CombatManager.consumeAmmoWithoutSave(e, startAmmo[i] - run.ammo[i]);
+                }
+                if (run.health[i] <= 0) {
+                    grid.removeEntity(e);
+                    turns.removeEntity(e);
+                }
+            } else if (unit instanceof Enemy en) {
+                en.takeDamage(en.getHealth() - Math.max(0, run.health[i]));
+                if (run.health[i] <= 0) {
+                    grid.removeEnemy(en);
+                    turns.removeEnemy(en);
+                }
+            }
+        }
+        for (int i = 0; i < model.unitCount; i++) {
+            if (run.health[i] > 0) {
+                model.source[i].moveTo(run.position[i] / model.cols, run.position[i] % model.cols);
+            }
+        }
+        if (next >= 0) {
+            turns.fastForward(model.source[next], outcome.rounds());
+        }
+        for (int i = 0; i < model.unitCount; i++) {
+            if (model.source[i] instanceof Entity e) {
+                e.getCharSheet().save();
+            }
+        }
+    }
+
+    /** Tick the sheet's statuses once per turn the unit started, dropping those that expire. */
+    private static void tickStatuses(CharSheet sheet, int times) {
+        if (times == 0) return;
+        for (Status status : sheet.getStatus()) {
+            for (int t = 0; t < times; t++) {
+                if (status.tick()) {
+                    sheet.removeStatusWithoutSave(status);
+                    break;
+                }
+            }
+        }
+        sheet.updateAttributes();
+    }
+}
@@ -7,105 +7,196 @@ public class BattleGrid {
 
     public static final int MAX_ELEVATION = 3;
 
+    /** Distance rule for radius queries. */
+    public enum DistanceMetric {
+        MANHATTAN, CHEBYSHEV, EUCLIDEAN;
+
+        public boolean within(int dRow, int dCol, int radius) {
+            int ar = Math.abs(dRow);
+            int ac = Math.abs(dCol);
+            return switch (this) {
+                case MANHATTAN -> ar + ac <= radius;
+                case CHEBYSHEV -> Math.max(ar, ac) <= radius;
+                case EUCLIDEAN -> ar * ar + ac * ac <= radius * radius;
+            };
+        }
+    }
+
     private final int rows;
     private final int cols;
 
-    // Per-tile elevation level (0..MAX_ELEVATION); visual-only for now
-    private final int[][] elevation;
-
-    // Which cells are part of the playable shape; null means every cell in the
-    // rows x cols rectangle is playable (the default, fully-backward-compatible case)
-    private final boolean[][] enabled;
+    // Per-tile elevation level (0..MAX_ELEVATION, visual-only for now) and which cells
+    // are part of the playable shape, both in sparse 32x32 chunks so huge, mostly-flat
+    // maps only pay for the cells that differ from "flat and playable"
+    private final ChunkedGrid cells;
 
     private final List<Entity> entities = new ArrayList<>();
     private final List<Enemy> enemies = new ArrayList<>();
     private final List<TerrainObject> terrainObjects = new ArrayList<>();
     private final List<Pickup> pickups = new ArrayList<>();
 
+    // Per-cell occupancy, kept in step by the add/remove methods and by each placed
+    // object's position listener, so point queries are constant time no matter how
+    // many objects are on the board. Chunked like the cell data, so empty regions of a
+    // large map hold no slot arrays at all.
+    private final ChunkedGrid.Layer<GridObject> unitAt;
+    private final ChunkedGrid.Layer<GridObject> terrainAt;
+    private final ChunkedGrid.Layer<GridObject> pickupAt;
+    private final GridObject.PositionListener occupancyTracker = this::onObjectMoved;
+
+    // Combatants (entities + enemies) bucketed by 8x8 region for range queries
+    private final SpatialBuckets unitBuckets;
+
+    // Walkable-region labels, built on first reachability query and then kept current
+    private ConnectivityIndex connectivity;
+
+    // Bumped on any change to the static board (shape, elevation, terrain placement) so
+    // derived caches can tell when they are stale; unit moves do not count
+    private int boardVersion;
+
+    // Bumped whenever a unit is added, removed or moves
+    private int unitVersion;
+
+    // Last movement range per mover, reused until the mover, its budget or the board changes
+    private record CachedRange(MovementRange range, int boardVersion, int unitVersion) {}
+    private final Map<GridObject, CachedRange> movementRanges = new IdentityHashMap<>();
+
+    // A* scratch space, allocated on the first path query and reused after that
+    private PathFinder pathFinder;
+
+    // Cluster graph for long routes, built lazily and patched per cluster on board changes
+    private HierarchicalPathFinder hierarchy;
+
+    // Distance-to-nearest fields from the party's and the enemies' tiles, built on first
+    // use, patched per unit move, and rebuilt when the static board has changed
+    private DistanceField partyField;
+    private DistanceField enemyField;
+    private int fieldBoardVersion;
+
+    // Per-origin visibility, cached and evicted by region on board changes
+    private FieldOfView fieldOfView;
+
+    // Each side's fog of war, created on first use, patched per unit move and rebuilt
+    // after static board changes
+    private FogOfWar partyFog;
+    private FogOfWar enemyFog;
+    private int fogBoardVersion;
+
+    // Where enemies can strike, created on first use; patched per unit move, rebuilt
+    // after static board changes
+    private ThreatMap threatMap;
+    private int threatBoardVersion;
+
     public BattleGrid(int rows, int cols, List<Entity> entities,
             List<TerrainObject> terrainObjects, List<Pickup> pickups) {
         this(rows, cols, null, entities, terrainObjects, pickups);
     }
 
-    public BattleGrid(int rows, int cols, boolean[][] enabledMask, List<Entity> entities,
+    public BattleGrid(int rows, int cols, ShapeMask enabledMask, List<Entity> entities,
             List<TerrainObject> terrainObjects, List<Pickup> pickups) {
         this.rows = rows;
         this.cols = cols;
-        this.elevation = new int[rows][cols];
-        this.enabled = enabledMask;
-        this.entities.addAll(entities);
-        this.terrainObjects.addAll(terrainObjects);
-        this.pickups.addAll(pickups);
-    }
-
-    public GridObject getObjectAt(int r, int c) {
-        for (Entity e : entities) {
-            if (e.getRow() == r && e.getCol() == c) {
-                return e;
+        this.cells = new ChunkedGrid(rows, cols);
+        if (enabledMask != null) {
+            for (int r = 0; r < rows && r < enabledMask.getRows(); r++) {
+                for (int c = 0; c < cols && c < enabledMask.getCols(); c++) {
+                    if (!enabledMask.isEnabled(r, c)) {
+                        cells.setEnabled(r, c, false);
+                    }
+                }
             }
         }
-
-        for (Enemy e : enemies) {
-            if (e.getRow() == r && e.getCol() == c) {
-                return e;
-            }
+        this.unitAt = new ChunkedGrid.Layer<>(rows, cols);
+        this.terrainAt = new ChunkedGrid.Layer<>(rows, cols);
+        this.pickupAt = new ChunkedGrid.Layer<>(rows, cols);
+        this.unitBuckets = new SpatialBuckets(rows, cols);
+        for (Entity e : entities) {
+            addEntity(e);
         }
-
         for (TerrainObject t : terrainObjects) {
-            if (!t.isDestroyed() && t.getRow() == r && t.getCol() == c) {
-                return t;
-            }
+            addTerrain(t);
         }
-
         for (Pickup p : pickups) {
-            if (p.getRow() == r && p.getCol() == c) {
-                return p;
-            }
+            addPickup(p);
         }
+    }
 
-        return null;
+    public GridObject getObjectAt(int r, int c) {
+        if (!inBounds(r, c)) {
+            return null;
+        }
+        GridObject unit = unitAt.get(r, c);
+        if (unit != null) {
+            return unit;
+        }
+        TerrainObject t = getTerrainAt(r, c);
+        if (t != null) {
+            return t;
+        }
+        return getPickupAt(r, c);
     }
 
     public boolean isEnabled(int r, int c) {
-        return inBounds(r, c) && (enabled == null || enabled[r][c]);
+        return inBounds(r, c) && cells.isEnabled(r, c);
     }
 
     public boolean isBlocked(int r, int c) {
         if (!isEnabled(r, c)) {
             return true;
         }
-        for (TerrainObject t : terrainObjects) {
-            if (t.getRow() == r && t.getCol() == c && !t.isDestroyed()) {
-                return t.blocksMovement();
-            }
+        TerrainObject t = getTerrainAt(r, c);
+        if (t != null) {
+            return t.blocksMovement();
         }
+        return unitAt.get(r, c) != null;
+    }
 
-        for (Entity e : entities) {
-            if (e.getRow() == r && e.getCol() == c) {
-                return true;
-            }
+    public boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    /** Turn a cell on or off in the playable shape. */
+    public void setEnabled(int r, int c, boolean enabled) {
+        if (inBounds(r, c) && cells.isEnabled(r, c) != enabled) {
+            cells.setEnabled(r, c, enabled);
+            boardChanged(r, c);
         }
+    }
 
-        for (Enemy e : enemies) {
-            if (e.getRow() == r && e.getCol() == c) {
-                return true;
-            }
+    /** Playable and free of standing blocking terrain - i.e. walkable if no unit were there. */
+    public boolean isWalkable(int r, int c) {
+        if (!isEnabled(r, c)) {
+            return false;
         }
+        TerrainObject t = getTerrainAt(r, c);
+        return t == null || !t.blocksMovement();
+    }
 
-        return false;
+    public int getBoardVersion() {
+        return boardVersion;
     }
 
-    public boolean inBounds(int r, int c) {
-        return r >= 0 && r < rows && c >= 0 && c < cols;
+    public int getUnitVersion() {
+        return unitVersion;
     }
 
     public int getElevation(int r, int c) {
-        return inBounds(r, c) ? elevation[r][c] : 0;
+        return inBounds(r, c) ? cells.getElevation(r, c) : 0;
     }
 
     public void setElevation(int r, int c, int level) {
         if (inBounds(r, c)) {
-            elevation[r][c] = Math.max(0, Math.min(MAX_ELEVATION, level));
+            int clamped = Math.max(0, Math.min(MAX_ELEVATION, level));
+            if (cells.getElevation(r, c) != clamped) {
+                cells.setElevation(r, c, clamped);
+                boardVersion++;
+                if (hierarchy != null) {
+                    hierarchy.markDirty(r, c);
+                }
+                if (fieldOfView != null) {
+                    fieldOfView.invalidateAround(r, c);
+                }
+            }
         }
     }
 
@@ -114,37 +205,518 @@ public class BattleGrid {
     }
 
     public TerrainObject getTerrainAt(int r, int c) {
-        for (TerrainObject t : terrainObjects) {
-            if (t.getRow() == r && t.getCol() == c && !t.isDestroyed()) {
-                return t;
-            }
+        if (!inBounds(r, c)) {
+            return null;
         }
-        return null;
+        TerrainObject t = (TerrainObject) terrainAt.get(r, c);
+        return t != null && !t.isDestroyed() ? t : null;
     }
 
     public Pickup getPickupAt(int r, int c) {
-        for (Pickup p : pickups) {
-            if (p.getRow() == r && p.getCol() == c) {
-                return p;
-            }
-        }
-        return null;
+        return inBounds(r, c) ? (Pickup) pickupAt.get(r, c) : null;
     }
 
     public void removeEntity(Entity e) {
-        entities.remove(e);
+        if (entities.remove(e)) {
+            unindex(e);
+        }
     }
 
     public void removeEnemy(Enemy e) {
-        enemies.remove(e);
+        if (enemies.remove(e)) {
+            unindex(e);
+        }
+    }
+
+    /** Remove several entities and enemies in one pass over each list. */
+    public void removeUnits(Collection<? extends GridObject> units) {
+        if (units.isEmpty()) return;
+        Set<GridObject> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(units);
+        entities.removeIf(e -> {
+            if (!gone.contains(e)) return false;
+            unindex(e);
+            return true;
+        });
+        enemies.removeIf(e -> {
+            if (!gone.contains(e)) return false;
+            unindex(e);
+            return true;
+        });
     }
 
     public void removeDestroyedTerrain() {
-        terrainObjects.removeIf(TerrainObject::isDestroyed);
+        terrainObjects.removeIf(t -> {
+            if (t.isDestroyed()) {
+                unindex(t);
+                return true;
+            }
+            return false;
+        });
     }
 
     public void removePickup(Pickup p) {
-        pickups.remove(p);
+        if (pickups.remove(p)) {
+            unindex(p);
+        }
+    }
+
+    // ===== OCCUPANCY INDEX =====
+
+    /** The occupancy layer an object lives in: units share one, terrain and pickups get their own. */
+    private ChunkedGrid.Layer<GridObject> layerFor(GridObject obj) {
+        if (obj instanceof TerrainObject) return terrainAt;
+        if (obj instanceof Pickup) return pickupAt;
+        return unitAt;
+    }
+
+    private static boolean isUnit(GridObject obj) {
+        return obj instanceof Entity || obj instanceof Enemy;
+    }
+
+    private void index(GridObject obj) {
+        obj.setPositionListener(occupancyTracker);
+        if (inBounds(obj.getRow(), obj.getCol())) {
+            layerFor(obj).put(obj.getRow(), obj.getCol(), obj);
+        }
+        if (isUnit(obj)) {
+            unitBuckets.add(obj, obj.getRow(), obj.getCol());
+            unitVersion++;
+            addFieldSource(obj, obj.getRow(), obj.getCol());
+            FogOfWar fog = liveFogFor(obj);
+            if (fog != null) {
+                fog.updateUnit(obj);
+            }
+            threatBlockerChanged(obj.getRow(), obj.getCol());
+        } else if (obj instanceof TerrainObject) {
+            boardChanged(obj.getRow(), obj.getCol());
+        }
+    }
+
+    private void unindex(GridObject obj) {
+        if (obj.getPositionListener() == occupancyTracker) {
+            obj.setPositionListener(null);
+        }
+        vacate(obj, obj.getRow(), obj.getCol());
+        if (isUnit(obj)) {
+            unitBuckets.remove(obj, obj.getRow(), obj.getCol());
+            movementRanges.remove(obj);
+            unitVersion++;
+            removeFieldSource(obj, obj.getRow(), obj.getCol());
+            FogOfWar fog = liveFogFor(obj);
+            if (fog != null) {
+                fog.removeUnit(obj);
+            }
+            if (threatMap != null && obj instanceof Enemy en) {
+                threatMap.removeEnemy(en);
+            }
+            threatBlockerChanged(obj.getRow(), obj.getCol());
+        } else if (obj instanceof TerrainObject) {
+            boardChanged(obj.getRow(), obj.getCol());
+        }
+    }
+
+    /** Clear a cell's slot, but only if it still points at this object (never evict another occupant). */
+    private void vacate(GridObject obj, int r, int c) {
+        if (inBounds(r, c)) {
+            layerFor(obj).remove(r, c, obj);
+        }
+    }
+
+    private void onObjectMoved(GridObject obj, int oldRow, int oldCol) {
+        vacate(obj, oldRow, oldCol);
+        if (inBounds(obj.getRow(), obj.getCol())) {
+            layerFor(obj).put(obj.getRow(), obj.getCol(), obj);
+        }
+        if (isUnit(obj)) {
+            unitBuckets.move(obj, oldRow, oldCol, obj.getRow(), obj.getCol());
+            unitVersion++;
+            removeFieldSource(obj, oldRow, oldCol);
+            addFieldSource(obj, obj.getRow(), obj.getCol());
+            FogOfWar fog = liveFogFor(obj);
+            if (fog != null) {
+                fog.updateUnit(obj);
+            }
+            threatBlockerChanged(oldRow, oldCol);
+            threatBlockerChanged(obj.getRow(), obj.getCol());
+        } else if (obj instanceof TerrainObject) {
+            boardChanged(oldRow, oldCol);
+            boardChanged(obj.getRow(), obj.getCol());
+        }
+    }
+
+    // ===== CONNECTIVITY =====
+
+    /** A cell's walkability may have changed: bump the version and patch the region labels. */
+    private void boardChanged(int r, int c) {
+        boardVersion++;
+        if (connectivity != null && inBounds(r, c)) {
+            connectivity.refresh(r, c);
+        }
+        if (hierarchy != null && inBounds(r, c)) {
+            hierarchy.markDirty(r, c);
+        }
+        if (fieldOfView != null && inBounds(r, c)) {
+            fieldOfView.invalidateAround(r, c);
+        }
+    }
+
+    private ConnectivityIndex connectivity() {
+        if (connectivity == null) {
+            connectivity = new ConnectivityIndex(rows, cols, this::isWalkable);
+        }
+        return connectivity;
+    }
+
+    /**
+     * Whether a walkable path could join the two cells, ignoring units. False means no
+     * search can succeed, so pathfinders can bail out before expanding anything.
+     * Terrain destroyed in combat may still count as blocking until removeDestroyedTerrain().
+     */
+    public boolean isReachable(int r0, int c0, int r1, int c1) {
+        return connectivity().connected(r0, c0, r1, c1);
+    }
+
+    /** Id of the walkable region containing the cell, or -1; ids change as the board does. */
+    public int getRegionId(int r, int c) {
+        return connectivity().regionOf(r, c);
+    }
+
+    // ===== MOVEMENT RANGE =====
+
+    /**
+     * Tiles the unit can move to with its current movement, respecting walls, other units,
+     * the shape and climb costs. The result is cached per mover and only recomputed once
+     * the board, any unit's position or the mover's budget has changed, so rendering and
+     * click validation can both call this every frame.
+     */
+    public MovementRange getMovementRange(GridObject mover) {
+        int budget = mover instanceof Entity e ? e.getMovement()
+            : mover instanceof Enemy en ? en.getMovement() : 0;
+        CachedRange cached = movementRanges.get(mover);
+        if (cached != null && cached.boardVersion() == boardVersion && cached.unitVersion() == unitVersion
+                && cached.range().getBudget() == budget
+                && cached.range().getOriginRow() == mover.getRow()
+                && cached.range().getOriginCol() == mover.getCol()) {
+            return cached.range();
+        }
+        MovementRange range = MovementRange.compute(this, mover.getRow(), mover.getCol(), budget);
+        movementRanges.put(mover, new CachedRange(range, boardVersion, unitVersion));
+        return range;
+    }
+
+    /**
+     * Cheapest walking route between two tiles as packed cells (row * getCols() + col),
+     * first step through goal; empty if already there, null if unreachable. Only the goal
+     * may be occupied. Tiles more than a cluster apart go through {@link #findRoute},
+     * which ignores units. See {@link PathFinder}.
+     */
+    public int[] findPath(int fromRow, int fromCol, int toRow, int toCol) {
+        if (Math.abs(toRow - fromRow) + Math.abs(toCol - fromCol) > HierarchicalPathFinder.CLUSTER_SIZE) {
+            return findRoute(fromRow, fromCol, toRow, toCol);
+        }
+        if (pathFinder == null) {
+            pathFinder = new PathFinder(this);
+        }
+        return pathFinder.findPath(fromRow, fromCol, toRow, toCol);
+    }
+
+    /**
+     * Long-distance walking route in the same format as {@link #findPath}, searched over
+     * the cluster graph so cost tracks the route's length in clusters, not tiles. Units
+     * are ignored.
+     */
+    public int[] findRoute(int fromRow, int fromCol, int toRow, int toCol) {
+        if (hierarchy == null) {
+            hierarchy = new HierarchicalPathFinder(this);
+        }
+        return hierarchy.findRoute(fromRow, fromCol, toRow, toCol);
+    }
+
+    // ===== LINE OF SIGHT =====
+
+    /**
+     * Whether a unit on the first tile can see the second: not through blocking terrain
+     * or up past a tile higher than its own. Units never block sight. See {@link FieldOfView}.
+     */
+    public boolean hasLineOfSight(int fromRow, int fromCol, int toRow, int toCol) {
+        return fieldOfView().canSee(fromRow, fromCol, toRow, toCol);
+    }
+
+    /** All tiles visible from the origin, as packed cells (row * getCols() + col); read-only. */
+    public BitSet getVisibleCells(int row, int col) {
+        return fieldOfView().visibleFrom(row, col);
+    }
+
+    /** Rectangle {minRow, minCol, maxRow, maxCol} around everything visible from the origin. */
+    public int[] getVisibleBounds(int row, int col) {
+        return fieldOfView().visibleBounds(row, col);
+    }
+
+    /** Tiles visible from the origin within a sight radius, as packed cells; see {@link FieldOfView#visibleWithin}. */
+    public int[] visibleWithin(int row, int col, int radius) {
+        return fieldOfView().visibleWithin(row, col, radius);
+    }
+
+    // ===== FOG OF WAR =====
+
+    /** What the party can see and has seen. */
+    public FogOfWar getPartyFog() {
+        ensureFog();
+        return partyFog;
+    }
+
+    /** What the enemies can see and have seen. */
+    public FogOfWar getEnemyFog() {
+        ensureFog();
+        return enemyFog;
+    }
+
+    private void ensureFog() {
+        if (partyFog == null) {
+            partyFog = new FogOfWar(this);
+            enemyFog = new FogOfWar(this);
+        } else if (fogBoardVersion == boardVersion) {
+            return;
+        }
+        partyFog.rebuild(entities);
+        enemyFog.rebuild(enemies);
+        fogBoardVersion = boardVersion;
+    }
+
+    /** The fog a unit sees for, or null while fog is unused or awaiting a rebuild. */
+    private FogOfWar liveFogFor(GridObject unit) {
+        if (partyFog == null || fogBoardVersion != boardVersion) {
+            return null;
+        }
+        return unit instanceof Entity ? partyFog : enemyFog;
+    }
+
+    // ===== THREAT =====
+
+    /** How many enemies could move to and strike each cell, brought up to date. */
+    public ThreatMap getThreatMap() {
+        if (threatMap == null) {
+            threatMap = new ThreatMap(this);
+            threatMap.rebuild(enemies);
+        } else if (threatBoardVersion != boardVersion) {
+            threatMap.rebuild(enemies);
+        } else {
+            threatMap.refresh(enemies);
+        }
+        threatBoardVersion = boardVersion;
+        return threatMap;
+    }
+
+    private void threatBlockerChanged(int r, int c) {
+        if (threatMap != null && threatBoardVersion == boardVersion) {
+            threatMap.blockerChanged(r, c);
+        }
+    }
+
+    private FieldOfView fieldOfView() {
+        if (fieldOfView == null) {
+            fieldOfView = new FieldOfView(this);
+        }
+        return fieldOfView;
+    }
+
+    // ===== DISTANCE FIELDS =====
+
+    /**
+     * Walking cost from any cell to the nearest party member, with the direction to
+     * approach or flee them. Shared by every enemy's decision this turn.
+     */
+    public DistanceField getPartyDistanceField() {
+        ensureDistanceFields();
+        return partyField;
+    }
+
+    /** Walking cost from any cell to the nearest enemy; see {@link #getPartyDistanceField()}. */
+    public DistanceField getEnemyDistanceField() {
+        ensureDistanceFields();
+        return enemyField;
+    }
+
+    private void ensureDistanceFields() {
+        if (partyField == null) {
+            partyField = new DistanceField(this);
+            enemyField = new DistanceField(this);
+        } else if (fieldBoardVersion == boardVersion) {
+            return;
+        }
+        partyField.rebuild(sourceCells(entities));
+        enemyField.rebuild(sourceCells(enemies));
+        fieldBoardVersion = boardVersion;
+    }
+
+    private int[] sourceCells(List<? extends GridObject> units) {
+        return units.stream()
+            .filter(u -> inBounds(u.getRow(), u.getCol()))
+            .mapToInt(u -> u.getRow() * cols + u.getCol())
+            .toArray();
+    }
+
+    /** The field a unit is a source for, or null while the fields are absent or stale. */
+    private DistanceField liveFieldFor(GridObject unit) {
+        if (partyField == null || fieldBoardVersion != boardVersion) {
+            return null;
+        }
+        return unit instanceof Entity ? partyField : enemyField;
+    }
+
+    private void addFieldSource(GridObject unit, int r, int c) {
+        DistanceField field = liveFieldFor(unit);
+        if (field != null && inBounds(r, c)) {
+            field.addSource(r * cols + c);
+        }
+    }
+
+    private void removeFieldSource(GridObject unit, int r, int c) {
+        DistanceField field = liveFieldFor(unit);
+        if (field == null || !inBounds(r, c)) {
+            return;
+        }
+        field.removeSource(r * cols + c);
+        // Two same-side units briefly sharing a tile: the one still there keeps it a source
+        GridObject other = unitAt.get(r, c);
+        if (other != null && other != unit && liveFieldFor(other) == field) {
+            field.addSource(r * cols + c);
+        }
+    }
+
+    // ===== RANGE QUERIES =====
+    // Combatant (Entity/Enemy) lookups for AoE targeting and auras. Each one only visits
+    // the 8x8 buckets its area overlaps, so cost follows the area and the units in it
+    // rather than the total unit count.
+
+    /** Units within radius of (row, col) under the given metric, the center tile included. */
+    public List<GridObject> unitsInRadius(int row, int col, int radius, DistanceMetric metric) {
+        List<GridObject> result = new ArrayList<>();
+        unitBuckets.collectInBox(row - radius, col - radius, row + radius, col + radius,
+            u -> metric.within(u.getRow() - row, u.getCol() - col, radius), result);
+        return result;
+    }
+
+    /** Units inside the inclusive rectangle spanned by the two corners, in either order. */
+    public List<GridObject> unitsInRect(int r0, int c0, int r1, int c1) {
+        List<GridObject> result = new ArrayList<>();
+        unitBuckets.collectInBox(Math.min(r0, r1), Math.min(c0, c1), Math.max(r0, r1), Math.max(c0, c1),
+            u -> true, result);
+        return result;
+    }
+
+    /**
+     * Standing terrain inside the inclusive rectangle. Reads the occupancy layer cell by
+     * cell when the rectangle is smaller than the terrain list, and filters the list
+     * otherwise, so it never does more work than the cheaper of the two.
+     */
+    public List<TerrainObject> terrainInRect(int r0, int c0, int r1, int c1) {
+        int top = Math.max(0, Math.min(r0, r1));
+        int left = Math.max(0, Math.min(c0, c1));
+        int bottom = Math.min(rows - 1, Math.max(r0, r1));
+        int right = Math.min(cols - 1, Math.max(c0, c1));
+        List<TerrainObject> result = new ArrayList<>();
+        if ((long) (bottom - top + 1) * (right - left + 1) < terrainObjects.size()) {
+            for (int r = top; r <= bottom; r++) {
+                for (int c = left; c <= right; c++) {
+                    TerrainObject t = getTerrainAt(r, c);
+                    if (t != null) result.add(t);
+                }
+            }
+        } else {
+            for (TerrainObject t : terrainObjects) {
+                if (!t.isDestroyed() && t.getRow() >= top && t.getRow() <= bottom
+                        && t.getCol() >= left && t.getCol() <= right) {
+                    result.add(t);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Units in a cone from (row, col) aimed at (towardRow, towardCol): within range
+     * (Euclidean) and within halfAngleDegrees of the aim direction. The origin tile itself
+     * is excluded, since a cone emanates from its caster.
+     */
+    public List<GridObject> unitsInCone(int row, int col, int towardRow, int towardCol,
+            int range, double halfAngleDegrees) {
+        List<GridObject> result = new ArrayList<>();
+        double dirR = towardRow - row;
+        double dirC = towardCol - col;
+        double dirLen = Math.hypot(dirR, dirC);
+        if (dirLen == 0) {
+            return result;
+        }
+        double cosLimit = Math.cos(Math.toRadians(halfAngleDegrees));
+        unitBuckets.collectInBox(row - range, col - range, row + range, col + range, u -> {
+            int dr = u.getRow() - row;
+            int dc = u.getCol() - col;
+            if (dr == 0 && dc == 0) return false;
+            if (dr * dr + dc * dc > range * range) return false;
+            return (dr * dirR + dc * dirC) >= cosLimit * dirLen * Math.hypot(dr, dc) - 1e-9;
+        }, result);
+        return result;
+    }
+
+    /**
+     * Units on the Bresenham line from (r0, c0) to (r1, c1), both ends included, in order
+     * of distance from the start. Walks only the line's own cells.
+     */
+    public List<GridObject> unitsOnLine(int r0, int c0, int r1, int c1) {
+        List<GridObject> result = new ArrayList<>();
+        int dr = Math.abs(r1 - r0);
+        int dc = Math.abs(c1 - c0);
+        int stepR = r0 < r1 ? 1 : -1;
+        int stepC = c0 < c1 ? 1 : -1;
+        int err = dc - dr;
+        int r = r0;
+        int c = c0;
+        while (true) {
+            if (inBounds(r, c)) {
+                GridObject unit = unitAt.get(r, c);
+                if (unit != null) {
+                    result.add(unit);
+                }
+            }
+            if (r == r1 && c == c1) break;
+            int e2 = 2 * err;
+            if (e2 > -dr) {
+                err -= dr;
+                c += stepC;
+            }
+            if (e2 < dc) {
+                err += dc;
+                r += stepR;
+            }
+        }
+        return result;
+    }
+
+    // ===== SNAPSHOTS =====
+
+    /**
+     * Immutable view of the board and combatants for reading off the FX thread. Cell data
+     * is shared copy-on-write with this grid, so the cost is one pass over the chunk table
+     * plus one small record per unit and terrain object - not a copy of the board.
+     * Call from the thread that mutates the grid.
+     */
+    public BattleSnapshot snapshot() {
+        List<BattleSnapshot.UnitState> units = new ArrayList<>(entities.size() + enemies.size());
+        for (Entity e : entities) {
+            units.add(BattleSnapshot.captureEntity(e));
+        }
+        for (Enemy e : enemies) {
+            units.add(BattleSnapshot.captureEnemy(e));
+        }
+        List<BattleSnapshot.TerrainState> terrain = new ArrayList<>(terrainObjects.size());
+        for (TerrainObject t : terrainObjects) {
+            if (!t.isDestroyed()) {
+                terrain.add(BattleSnapshot.captureTerrain(t));
+            }
+        }
+        return new BattleSnapshot(rows, cols, cells.snapshot(), units, terrain);
     }
 
     public List<TerrainObject> getTerrainObjects() {
@@ -172,15 +744,7 @@ public class BattleGrid {
     }
 
     public void addEntityAtNextAvailable(Entity entity) {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (getObjectAt(r, c) == null && !isBlocked(r, c)) {
-                    entity.moveTo(r, c);
-                    entities.add(entity);
-                    return;
-                }
-            }
-        }
+        spawnAll(List.of(entity), PlacementStrategy.fillOrder());
     }
     
     /**
@@ -188,6 +752,7 @@ public class BattleGrid {
      */
     public void addEntity(Entity entity) {
         entities.add(entity);
+        index(entity);
     }
     
     /**
@@ -195,6 +760,7 @@ public class BattleGrid {
      */
     public void addTerrain(TerrainObject terrain) {
         terrainObjects.add(terrain);
+        index(terrain);
     }
     
     /**
@@ -202,6 +768,7 @@ public class BattleGrid {
      */
     public void addPickup(Pickup pickup) {
         pickups.add(pickup);
+        index(pickup);
     }
     
     /**
@@ -209,42 +776,127 @@ public class BattleGrid {
      */
     public void addEnemy(Enemy enemy) {
         enemies.add(enemy);
+        index(enemy);
     }
 
     public void addTerrainAtNextAvailable(TerrainObject terrain) {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (getObjectAt(r, c) == null && !isBlocked(r, c)) {
-                    terrain.moveTo(r, c);
-                    terrainObjects.add(terrain);
-                    return;
-                }
+        spawnAll(List.of(terrain), PlacementStrategy.fillOrder());
+    }
+
+    public void addPickupAtNextAvailable(Pickup pickup) {
+        spawnAll(List.of(pickup), PlacementStrategy.fillOrder());
+    }
+
+    public void addEnemyAtNextAvailable(Enemy enemy) {
+        spawnAll(List.of(enemy), PlacementStrategy.fillOrder());
+    }
+
+    // ===== BULK PLACEMENT =====
+
+    /**
+     * Place a batch of objects on free cells (no object, not blocked) chosen by the
+     * strategy, adding each to the matching list. Free cells are gathered in a single
+     * pass over the board and handed out in order, so spawning N objects costs one
+     * scan rather than one full rescan per object.
+     *
+     * @return how many objects were placed; the rest are left off the board once it fills up
+     */
+    public int spawnAll(List<? extends GridObject> objects, PlacementStrategy strategy) {
+        if (objects.isEmpty()) {
+            return 0;
+        }
+        return switch (strategy.getKind()) {
+            case FILL_ORDER -> spawnInFillOrder(objects);
+            case RANDOM_SCATTER -> spawnScattered(objects, strategy.getRng());
+            case CLUSTER -> spawnClustered(objects, strategy.getAnchorRow(), strategy.getAnchorCol());
+        };
+    }
+
+    private boolean isFree(int r, int c) {
+        return getObjectAt(r, c) == null && !isBlocked(r, c);
+    }
+
+    /** Row-major cursor that never revisits a cell: one pass total for the whole batch. */
+    private int spawnInFillOrder(List<? extends GridObject> objects) {
+        int placed = 0;
+        int total = rows * cols;
+        for (int cell = 0; cell < total && placed < objects.size(); cell++) {
+            int r = cell / cols;
+            int c = cell % cols;
+            if (isFree(r, c)) {
+                placeAt(objects.get(placed++), r, c);
             }
         }
+        return placed;
     }
 
-    public void addPickupAtNextAvailable(Pickup pickup) {
+    /** Partial Fisher-Yates over the free-cell list: each object draws a distinct random free cell. */
+    private int spawnScattered(List<? extends GridObject> objects, BattleRng rng) {
+        int[] free = new int[rows * cols];
+        int freeCount = 0;
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                if (getObjectAt(r, c) == null && !isBlocked(r, c)) {
-                    pickup.moveTo(r, c);
-                    pickups.add(pickup);
-                    return;
+                if (isFree(r, c)) {
+                    free[freeCount++] = r * cols + c;
                 }
             }
         }
+        int count = Math.min(objects.size(), freeCount);
+        for (int i = 0; i < count; i++) {
+            int j = i + rng.nextInt(freeCount - i, BattleRng.Purpose.PLACEMENT);
+            int cell = free[j];
+            free[j] = free[i];
+            placeAt(objects.get(i), cell / cols, cell % cols);
+        }
+        return count;
     }
 
-    public void addEnemyAtNextAvailable(Enemy enemy) {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (getObjectAt(r, c) == null && !isBlocked(r, c)) {
-                    enemy.moveTo(r, c);
-                    enemies.add(enemy);
-                    return;
+    /**
+     * Breadth-first ring walk out from the anchor over every in-bounds cell (8-way, so
+     * the search flows around walls), taking free cells in order of distance.
+     */
+    private int spawnClustered(List<? extends GridObject> objects, int anchorRow, int anchorCol) {
+        int startRow = Math.max(0, Math.min(rows - 1, anchorRow));
+        int startCol = Math.max(0, Math.min(cols - 1, anchorCol));
+        BitSet visited = new BitSet(rows * cols);
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startRow * cols + startCol;
+        visited.set(startRow * cols + startCol);
+
+        int placed = 0;
+        while (head < tail && placed < objects.size()) {
+            int cell = queue[head++];
+            int r = cell / cols;
+            int c = cell % cols;
+            if (isFree(r, c)) {
+                placeAt(objects.get(placed++), r, c);
+            }
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = r + dr;
+                    int nc = c + dc;
+                    if ((dr != 0 || dc != 0) && inBounds(nr, nc) && !visited.get(nr * cols + nc)) {
+                        visited.set(nr * cols + nc);
+                        queue[tail++] = nr * cols + nc;
+                    }
                 }
             }
         }
+        return placed;
     }
 
+    private void placeAt(GridObject obj, int r, int c) {
+        obj.moveTo(r, c);
+        if (obj instanceof Entity e) {
+            addEntity(e);
+        } else if (obj instanceof Enemy en) {
+            addEnemy(en);
+        } else if (obj instanceof TerrainObject t) {
+            addTerrain(t);
+        } else if (obj instanceof Pickup p) {
+            addPickup(p);
+        }
+    }
 }
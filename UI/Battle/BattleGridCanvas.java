@@ -10,6 +10,8 @@ import javafx.geometry.VPos;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
@@ -60,15 +62,22 @@ public class BattleGridCanvas extends Pane {
     private static final double TWEEN_MS_PER_TILE = 90;
     private static final double FLOAT_TEXT_MS = 900;
 
-    /** A unit sliding from its old tile toward its current grid position. */
+    // Upper bound on a tween, so a long detour still resolves quickly
+    private static final double TWEEN_MAX_MS = 720;
+
+    /**
+     * A unit sliding from where it was drawn toward its current grid position,
+     * along the waypoints of its walking path: rows[0]/cols[0] is the start,
+     * the last point its destination tile.
+     */
     private static final class MoveTween {
-        final double fromRow, fromCol;
+        final double[] rows, cols;
         final long startNanos;
         final double durationMs;
 
-        MoveTween(double fromRow, double fromCol, long startNanos, double durationMs) {
-            this.fromRow = fromRow;
-            this.fromCol = fromCol;
+        MoveTween(double[] rows, double[] cols, long startNanos, double durationMs) {
+            this.rows = rows;
+            this.cols = cols;
             this.startNanos = startNanos;
             this.durationMs = durationMs;
         }
@@ -96,6 +105,27 @@ public class BattleGridCanvas extends Pane {
 
     private GridTheme theme = GridTheme.byName("stone");
 
+    // Fog of war, from the party's side (toggle with V). The overlay is one pixel per
+    // cell, rebuilt only when the fog changes, and stretched over the board when drawn.
+    private static final int FOG_UNEXPLORED_ARGB = 0xE6101014;
+    private static final int FOG_EXPLORED_ARGB = 0x8C101014;
+    private boolean fogEnabled;
+    private WritableImage fogImage;
+    private int fogImageVersion = -1;
+
+    // Enemy threat heatmap (toggle with T), cached the same way as the fog overlay
+    private boolean threatEnabled;
+    private WritableImage threatImage;
+    private int threatImageVersion = -1;
+
+    // Tactical advisor's suggested turn (G), shown until its unit moves or the turn passes
+    private static final Color SUGGEST_COLOR = Color.web("#e6b23c");
+    private TacticalAdvisor.Suggestion suggestion;
+    private int suggestionOrigin;            // packed cell the unit stood on when asked
+    private GridObject suggestionTurn;       // whose turn it was when asked
+    private int[] suggestionPath;            // route from the origin, found once on arrival
+    private boolean suggestionPending;
+
     // Repaint cadence the current unit's turn animation needs this frame:
     // 0 = passive, otherwise nanos between animation repaints. Set during
     // redraw when the current unit is drawn.
@@ -376,13 +406,16 @@ public class BattleGridCanvas extends Pane {
         }
 
         java.util.List<String> diceList = new java.util.ArrayList<>();
-        String[] dice = CombatManager.getDamageDice(obj);
+        EntityRes.DiceSpec[] dice = CombatManager.getDamageDice(obj);
         if (dice != null) {
-            for (String d : dice) {
-                if (d != null) diceList.add(d);
+            for (EntityRes.DiceSpec d : dice) {
+                if (d != null) diceList.add(d.toString());
             }
         }
         String diceText = String.join("/", diceList);
+        if (obj instanceof Squad squad) {
+            diceText += " x" + squad.getSurvivors();
+        }
 
         for (String line : new String[]{
                 "HP: " + hp + " / " + maxHp,
@@ -394,6 +427,15 @@ public class BattleGridCanvas extends Pane {
             infoPopup.getChildren().add(l);
         }
 
+        // While picking a target, show the odds of the pending attack against this one
+        GridObject attacker = attackingEntity != null ? attackingEntity : attackingEnemy;
+        if (attackMode && attacker != null && obj != attacker && !(obj instanceof Pickup)) {
+            AttackOdds odds = AttackOdds.of(attacker, ac);
+            Label oddsLine = new Label(DiceRollPanel.formatOdds(odds, hp));
+            oddsLine.setStyle("-fx-text-fill: #FFD54F; -fx-font-size: 11px;");
+            infoPopup.getChildren().add(oddsLine);
+        }
+
         if (pinned) {
             Button deleteBtn = new Button("Delete");
             deleteBtn.getStyleClass().addAll("button", "button-danger");
@@ -469,6 +511,22 @@ public class BattleGridCanvas extends Pane {
             return;
         }
 
+        // Toggle the enemy threat heatmap
+        if (e.getCode() == javafx.scene.input.KeyCode.T) {
+            threatEnabled = !threatEnabled;
+            redraw();
+            e.consume();
+            return;
+        }
+
+        // Toggle fog of war
+        if (e.getCode() == javafx.scene.input.KeyCode.V) {
+            fogEnabled = !fogEnabled;
+            redraw();
+            e.consume();
+            return;
+        }
+
         // Handle ESCAPE for object placement mode
         if (battleView.isObjectPlacementMode() && e.getCode() == javafx.scene.input.KeyCode.ESCAPE) {
             battleView.cancelObjectPlacement();
@@ -532,6 +590,14 @@ public class BattleGridCanvas extends Pane {
                         triggerSwapForSelected();
                         e.consume();
                     }
+                    case G -> {
+                        suggestTurnForSelected();
+                        e.consume();
+                    }
+                    case C -> {
+                        cleaveSelected();
+                        e.consume();
+                    }
                     case P -> {
                         // Toggle pickup mode
                         if (pickupMode && pickupEntity == entity) {
@@ -567,6 +633,10 @@ public class BattleGridCanvas extends Pane {
                         }
                         e.consume();
                     }
+                    case C -> {
+                        cleaveSelected();
+                        e.consume();
+                    }
                     case ESCAPE -> {
                         cancelModes();
                         e.consume();
@@ -831,6 +901,38 @@ public class BattleGridCanvas extends Pane {
         }
     }
 
+    /**
+     * Ask the {@link TacticalAdvisor} for the selected party member's best turn. The search
+     * runs on a worker thread for the battle's advisor budget (the Think setting); the result
+     * is drawn over the board (route, target and expected value) until that unit moves or the
+     * turn passes.
+     */
+    public void suggestTurnForSelected() {
+        if (!battleStarted || suggestionPending) return;
+        if (!(selectedObject instanceof Entity entity) || !entity.isParty()) return;
+        TacticalAdvisor advisor = TacticalAdvisor.of(grid, turnManager, entity);
+        if (advisor == null) return;
+        suggestionPending = true;
+        int origin = entity.getRow() * grid.getCols() + entity.getCol();
+        GridObject turn = turnManager.getCurrentCombatant();
+        long seed = battleView.getBattleState().getRng().nextChildSeed();
+        long budgetNanos = battleView.getBattleState().getAdvisorBudgetMillis() * 1_000_000L;
+        Thread worker = new Thread(() -> {
+            TacticalAdvisor.Suggestion result = advisor.suggest(budgetNanos, seed);
+            javafx.application.Platform.runLater(() -> {
+                suggestionPending = false;
+                suggestion = result;
+                suggestionOrigin = origin;
+                suggestionTurn = turn;
+                suggestionPath = result == null ? null
+                    : grid.findPath(origin / grid.getCols(), origin % grid.getCols(), result.row(), result.col());
+                redraw();
+            });
+        }, "tactical-advisor");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
     public void triggerSwapForSelected() {
         if (!battleStarted) return;
         if (selectedObject instanceof Entity entity && entity.isParty()) {
@@ -885,6 +987,24 @@ public class BattleGridCanvas extends Pane {
         return grid.getElevation(r, c) * cellSize * ELEV_LIFT;
     }
 
+    /** Tint every tile in a mover's reachable set; only the range's window is scanned. */
+    private void drawMovementRange(GraphicsContext gc, MovementRange range, double offsetX, double offsetY, double cellSize) {
+        gc.setFill(Color.rgb(110, 200, 130, 0.22));
+        int r0 = Math.max(0, range.getMinRow());
+        int r1 = Math.min(grid.getRows() - 1, range.getMaxRow());
+        int c0 = Math.max(0, range.getMinCol());
+        int c1 = Math.min(grid.getCols() - 1, range.getMaxCol());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (range.contains(r, c)) {
+                    double x = offsetX + c * cellSize;
+                    double y = offsetY + r * cellSize - liftFor(r, c, cellSize);
+                    gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+                }
+            }
+        }
+    }
+
     // White overlay per elevation level on tile tops, so height has a color
     // signature even where no side face is visible (e.g. north-facing drops)
     private static final double ELEV_TINT_PER_LEVEL = 0.04;
@@ -1165,13 +1285,9 @@ public class BattleGridCanvas extends Pane {
         // Handle move mode for Entity
         if (moveMode && movingEntity != null) {
             if (clicked == null && !grid.isBlocked(row, col)) {
-                int dist = Math.abs(movingEntity.getRow() - row) + Math.abs(movingEntity.getCol() - col);
-                int mobilityLimit = movingEntity.getMovement();
-
-                if (dist <= mobilityLimit) {
+                if (grid.getMovementRange(movingEntity).contains(row, col)) {
                     Entity movedEntity = movingEntity;
-                    movingEntity.setRow(row);
-                    movingEntity.setCol(col);
+                    movingEntity.moveTo(row, col);
                     moveMode = false;
                     movingEntity = null;
                     // Keep entity selected for additional actions
@@ -1203,13 +1319,9 @@ public class BattleGridCanvas extends Pane {
         // Handle move mode for Enemy
         if (moveMode && movingEnemy != null) {
             if (clicked == null && !grid.isBlocked(row, col)) {
-                int dist = Math.abs(movingEnemy.getRow() - row) + Math.abs(movingEnemy.getCol() - col);
-                int mobilityLimit = movingEnemy.getMovement();
-
-                if (dist <= mobilityLimit) {
+                if (grid.getMovementRange(movingEnemy).contains(row, col)) {
                     Enemy movedEnemy = movingEnemy;
-                    movingEnemy.setRow(row);
-                    movingEnemy.setCol(col);
+                    movingEnemy.moveTo(row, col);
                     moveMode = false;
                     movingEnemy = null;
                     // Keep enemy selected for additional actions
@@ -1240,6 +1352,10 @@ public class BattleGridCanvas extends Pane {
 
         // Handle attack mode for Entity
         if (attackMode && attackingEntity != null) {
+            if (clicked != null && !(clicked instanceof Pickup) && clicked != attackingEntity && !canTarget(attackingEntity, clicked)) {
+                spawnFloatingText(row, col, "No line of sight", Color.web("#b8b8c0"));
+                return;
+            }
             if (clicked instanceof Entity target && target != attackingEntity) {
                 // Start dice roll sequence for Entity attacking Entity
                 startDiceRollAttack(attackingEntity, target);
@@ -1265,6 +1381,10 @@ public class BattleGridCanvas extends Pane {
 
         // Handle attack mode for Enemy
         if (attackMode && attackingEnemy != null) {
+            if (clicked != null && !(clicked instanceof Pickup) && clicked != attackingEnemy && !canTarget(attackingEnemy, clicked)) {
+                spawnFloatingText(row, col, "No line of sight", Color.web("#b8b8c0"));
+                return;
+            }
             if (clicked instanceof Entity target) {
                 // Start dice roll sequence for Enemy attacking Entity
                 startDiceRollAttack(attackingEnemy, target);
@@ -1289,6 +1409,11 @@ public class BattleGridCanvas extends Pane {
         }
     }
     
+    /** Whether the attacker can see the target's tile (cached per attacker tile by the grid). */
+    private boolean canTarget(GridObject attacker, GridObject target) {
+        return grid.hasLineOfSight(attacker.getRow(), attacker.getCol(), target.getRow(), target.getCol());
+    }
+
     /**
      * Start the dice roll attack sequence via DiceRollPanel
      */
@@ -1303,6 +1428,122 @@ public class BattleGridCanvas extends Pane {
         );
     }
     
+    /**
+     * Carry out an AI-planned enemy turn: walk to the planned tile along its path, sliding
+     * like a manual move, then attack the planned target with dice rolled from the battle's
+     * RNG once the walk has played out; {@code done} runs after the attack. The board may
+     * have changed while the plan was made, so each step is re-checked against the live
+     * grid and skipped if stale.
+     */
+    void applyEnemyPlan(EnemyPlanner.Plan plan, Runnable done) {
+        if (!(plan.unit() instanceof Enemy enemy) || !grid.getEnemies().contains(enemy)) {
+            done.run();
+            return;
+        }
+        cancelModes();
+        double walkMs = 0;
+        if ((plan.row() != enemy.getRow() || plan.col() != enemy.getCol())
+                && !grid.isBlocked(plan.row(), plan.col())
+                && grid.getMovementRange(enemy).contains(plan.row(), plan.col())) {
+            walkMs = walkTo(enemy, plan.row(), plan.col());
+        }
+        if (walkMs <= 0) {
+            strikePlannedTarget(enemy, plan.target());
+            done.run();
+            return;
+        }
+        redraw();
+        PauseTransition arrive = new PauseTransition(Duration.millis(walkMs));
+        arrive.setOnFinished(e -> {
+            if (battleStarted && grid.getEnemies().contains(enemy)) {
+                strikePlannedTarget(enemy, plan.target());
+            }
+            done.run();
+        });
+        arrive.play();
+    }
+
+    /** Move the unit and start its slide along the route it walks; returns the slide's length in ms. */
+    private double walkTo(GridObject unit, int row, int col) {
+        int fromRow = unit.getRow();
+        int fromCol = unit.getCol();
+        int[] path = grid.findPath(fromRow, fromCol, row, col);
+        unit.moveTo(row, col);
+        if (!battleStarted) return 0;
+        long now = System.nanoTime();
+        double duration = startMoveTween(unit, fromRow, fromCol, row, col, path, now);
+        lastGridPositions.put(unit, new int[]{row, col});
+        return duration;
+    }
+
+    private void strikePlannedTarget(Enemy enemy, GridObject target) {
+        boolean adjacent = target != null
+            && Math.abs(target.getRow() - enemy.getRow()) + Math.abs(target.getCol() - enemy.getCol()) == 1;
+        if (adjacent && !CombatManager.isTargetDead(target) && canTarget(enemy, target)) {
+            handleAttackOutcome(rollAttack(enemy, target));
+        } else {
+            selectedObject = enemy;
+            battleView.updateSelectedEntity(enemy);
+            redraw();
+        }
+    }
+
+    /** Roll an attack automatically with the battle's RNG, by the same rules as {@link DiceRollPanel}. */
+    private DiceRollPanel.AttackOutcome rollAttack(GridObject attacker, GridObject target) {
+        CombatManager.AttackRoll roll = CombatManager.rollAttack(attacker, target, battleView.getBattleState().getRng());
+        return new DiceRollPanel.AttackOutcome(attacker, target, roll.hit(), roll.tier(), roll.damage(),
+            roll.margin(), roll.d20Roll(), roll.modifier(), roll.targetAC());
+    }
+
+    /**
+     * Cleave: the selected (or attacking) unit attacks every foe next to it at once, each
+     * rolled automatically. The attack is resolved in one pass and the board, stats and
+     * party panel update once at the end rather than per target.
+     */
+    public void cleaveSelected() {
+        if (!battleStarted) return;
+        GridObject attacker = attackMode && attackingEntity != null ? attackingEntity
+            : attackMode && attackingEnemy != null ? attackingEnemy
+            : selectedObject;
+        if (!(attacker instanceof Enemy) && !(attacker instanceof Entity entity && entity.isParty())) return;
+        if (!CombatManager.hasAmmoForWeapon(attacker)) {
+            spawnFloatingText(attacker, "No ammo", Color.web("#b8b8c0"));
+            return;
+        }
+        boolean party = attacker instanceof Entity;
+        List<GridObject> targets = new ArrayList<>();
+        for (GridObject unit : grid.unitsInRadius(attacker.getRow(), attacker.getCol(), 1,
+                BattleGrid.DistanceMetric.MANHATTAN)) {
+            boolean foe = party ? unit instanceof Enemy : unit instanceof Entity;
+            if (foe && unit != attacker && canTarget(attacker, unit)) targets.add(unit);
+        }
+        if (targets.isEmpty()) {
+            spawnFloatingText(attacker, "No adjacent foes", Color.web("#b8b8c0"));
+            return;
+        }
+        cancelModes();
+        handleMultiAttackResult(CombatManager.resolveMultiAttack(attacker, targets, grid, turnManager,
+            battleView.getBattleState().getRng()));
+    }
+
+    private void handleMultiAttackResult(CombatManager.MultiAttackResult result) {
+        for (CombatManager.AttackRoll roll : result.rolls()) {
+            if (roll.hit()) {
+                spawnFloatingText(roll.target(), "-" + roll.damage(),
+                    roll.d20Roll() == 20 ? Color.web("#FFD700") : Color.web("#ff7b6b"));
+            } else {
+                spawnFloatingText(roll.target(), "Miss", Color.web("#b8b8c0"));
+            }
+        }
+        BattleState state = battleView.getBattleState();
+        state.addDamageDealt(result.damageDealt());
+        state.addDamageTaken(result.damageTaken());
+        for (int i = 0; i < result.enemiesDefeated(); i++) {
+            state.incrementEnemiesDefeated();
+        }
+        finishAttack(result.attacker());
+    }
+
     /**
      * Handle the outcome of a dice roll attack
      */
@@ -1482,106 +1723,32 @@ public class BattleGridCanvas extends Pane {
 
         // Movement range highlight for Entity
         if (moveMode && movingEntity != null) {
-            int mobilityLimit = movingEntity.getMovement();
-            int entityRow = movingEntity.getRow();
-            int entityCol = movingEntity.getCol();
-
-            gc.setFill(Color.rgb(110, 200, 130, 0.22));
-            for (int r = 0; r < rows; r++) {
-                for (int c = 0; c < cols; c++) {
-                    int dist = Math.abs(entityRow - r) + Math.abs(entityCol - c);
-                    if (dist > 0 && dist <= mobilityLimit && !grid.isBlocked(r, c)) {
-                        double x = offsetX + c * cellSize;
-                        double y = offsetY + r * cellSize - liftFor(r, c, cellSize);
-                        gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                    }
-                }
-            }
+            drawMovementRange(gc, grid.getMovementRange(movingEntity), offsetX, offsetY, cellSize);
         }
 
         // Movement range highlight for Enemy
         if (moveMode && movingEnemy != null) {
-            int mobilityLimit = movingEnemy.getMovement();
-            int entityRow = movingEnemy.getRow();
-            int entityCol = movingEnemy.getCol();
-
-            gc.setFill(Color.rgb(110, 200, 130, 0.22));
-            for (int r = 0; r < rows; r++) {
-                for (int c = 0; c < cols; c++) {
-                    int dist = Math.abs(entityRow - r) + Math.abs(entityCol - c);
-                    if (dist > 0 && dist <= mobilityLimit && !grid.isBlocked(r, c)) {
-                        double x = offsetX + c * cellSize;
-                        double y = offsetY + r * cellSize - liftFor(r, c, cellSize);
-                        gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                    }
-                }
-            }
+            drawMovementRange(gc, grid.getMovementRange(movingEnemy), offsetX, offsetY, cellSize);
         }
 
-        // Attack targets highlight for Entity
+        // Attack targets highlight
         if (attackMode && attackingEntity != null) {
-            gc.setFill(Color.rgb(215, 95, 95, 0.22));
-
-            for (Entity e : grid.getEntities()) {
-                if (e != attackingEntity) {
-                    double x = offsetX + e.getCol() * cellSize;
-                    double y = offsetY + e.getRow() * cellSize - liftFor(e.getRow(), e.getCol(), cellSize);
-                    gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                    gc.setStroke(Color.rgb(215, 95, 95, 0.75));
-                    gc.setLineWidth(1.5);
-                    gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                }
-            }
-            for (Enemy en : grid.getEnemies()) {
-                double x = offsetX + en.getCol() * cellSize;
-                double y = offsetY + en.getRow() * cellSize - liftFor(en.getRow(), en.getCol(), cellSize);
-                gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                gc.setStroke(Color.rgb(215, 95, 95, 0.75));
-                gc.setLineWidth(1.5);
-                gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-            }
-            for (TerrainObject t : grid.getTerrainObjects()) {
-                double x = offsetX + t.getCol() * cellSize;
-                double y = offsetY + t.getRow() * cellSize - liftFor(t.getRow(), t.getCol(), cellSize);
-                gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                gc.setStroke(Color.rgb(215, 95, 95, 0.75));
-                gc.setLineWidth(1.5);
-                gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-            }
-            gc.setLineWidth(1);
+            drawAttackTargets(gc, attackingEntity, offsetX, offsetY, cellSize);
+        } else if (attackMode && attackingEnemy != null) {
+            drawAttackTargets(gc, attackingEnemy, offsetX, offsetY, cellSize);
         }
 
-        // Attack targets highlight for Enemy
-        if (attackMode && attackingEnemy != null) {
-            gc.setFill(Color.rgb(215, 95, 95, 0.22));
+        if (threatEnabled) {
+            drawThreat(gc, offsetX, offsetY, gridWidth, gridHeight);
+        }
 
-            for (Entity e : grid.getEntities()) {
-                double x = offsetX + e.getCol() * cellSize;
-                double y = offsetY + e.getRow() * cellSize - liftFor(e.getRow(), e.getCol(), cellSize);
-                gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                gc.setStroke(Color.rgb(215, 95, 95, 0.75));
-                gc.setLineWidth(1.5);
-                gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-            }
-            for (Enemy en : grid.getEnemies()) {
-                if (en != attackingEnemy) {
-                    double x = offsetX + en.getCol() * cellSize;
-                    double y = offsetY + en.getRow() * cellSize - liftFor(en.getRow(), en.getCol(), cellSize);
-                    gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                    gc.setStroke(Color.rgb(215, 95, 95, 0.75));
-                    gc.setLineWidth(1.5);
-                    gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                }
-            }
-            for (TerrainObject t : grid.getTerrainObjects()) {
-                double x = offsetX + t.getCol() * cellSize;
-                double y = offsetY + t.getRow() * cellSize - liftFor(t.getRow(), t.getCol(), cellSize);
-                gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-                gc.setStroke(Color.rgb(215, 95, 95, 0.75));
-                gc.setLineWidth(1.5);
-                gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
-            }
-            gc.setLineWidth(1);
+        // The advisor's route and target go under the units, its label over them
+        if (suggestion != null && suggestionStale()) {
+            suggestion = null;
+            suggestionPath = null;
+        }
+        if (suggestion != null) {
+            drawSuggestion(gc, offsetX, offsetY, cellSize);
         }
 
         // Pickups - floor items, drawn under everything that stands
@@ -1624,13 +1791,17 @@ public class BattleGridCanvas extends Pane {
                 }
             }
             for (Enemy en : grid.getEnemies()) {
-                if (en.getRow() != r) continue;
+                if (en.getRow() != r || hiddenByFog(en)) continue;
                 double[] pos = currentDrawPosition(en, en.getRow(), en.getCol(), frameNow);
                 double lift = liftFor((int) Math.round(pos[0]), (int) Math.round(pos[1]), cellSize);
                 drawUnit(gc, offsetX + pos[1] * cellSize, offsetY + pos[0] * cellSize, cellSize, lift,
                     en.getSpritePath(), Color.web(en.getColor()), false,
                     turnManager.isCurrent(en), en == selectedObject,
                     en.getHealth(), en.getMaxHealth(), frameNow);
+                if (en instanceof Squad squad) {
+                    drawSquadBadge(gc, offsetX + pos[1] * cellSize, offsetY + pos[0] * cellSize - lift,
+                        cellSize, squad.getSurvivors());
+                }
             }
             for (Entity e : grid.getEntities()) {
                 if (e.getRow() != r) continue;
@@ -1645,6 +1816,14 @@ public class BattleGridCanvas extends Pane {
             }
         }
 
+        if (fogEnabled) {
+            drawFog(gc, offsetX, offsetY, gridWidth, gridHeight);
+        }
+
+        if (suggestion != null) {
+            drawSuggestionLabel(gc, offsetX, offsetY, cellSize);
+        }
+
         // Floating combat text on top of everything
         drawFloatingTexts(gc, frameNow, cellSize, offsetX, offsetY);
 
@@ -1655,6 +1834,188 @@ public class BattleGridCanvas extends Pane {
         }
     }
 
+    /** An enemy the party can't currently see, hidden while fog is on. */
+    /**
+     * Outline everything the attacker could strike. A target has to be in line of sight,
+     * so only the rectangle the attacker's view spans is queried rather than every unit
+     * and terrain piece on the board.
+     */
+    private void drawAttackTargets(GraphicsContext gc, GridObject attacker,
+            double offsetX, double offsetY, double cellSize) {
+        int[] reach = grid.getVisibleBounds(attacker.getRow(), attacker.getCol());
+        List<GridObject> targets = new ArrayList<>(grid.unitsInRect(reach[0], reach[1], reach[2], reach[3]));
+        targets.addAll(grid.terrainInRect(reach[0], reach[1], reach[2], reach[3]));
+
+        gc.setFill(Color.rgb(215, 95, 95, 0.22));
+        gc.setStroke(Color.rgb(215, 95, 95, 0.75));
+        gc.setLineWidth(1.5);
+        for (GridObject target : targets) {
+            if (target == attacker || !canTarget(attacker, target)) continue;
+            if (attacker instanceof Entity && target instanceof Enemy en && hiddenByFog(en)) continue;
+            double x = offsetX + target.getCol() * cellSize;
+            double y = offsetY + target.getRow() * cellSize - liftFor(target.getRow(), target.getCol(), cellSize);
+            gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+            gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+        }
+        gc.setLineWidth(1);
+    }
+
+    private boolean hiddenByFog(Enemy en) {
+        return fogEnabled && !grid.getPartyFog().isVisible(en.getRow(), en.getCol());
+    }
+
+    /** Tint each cell red by how many enemies could reach and strike it, strongest where most overlap. */
+    private void drawThreat(GraphicsContext gc, double offsetX, double offsetY, double gridWidth, double gridHeight) {
+        ThreatMap threat = grid.getThreatMap();
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (threatImage == null || threatImage.getWidth() != cols || threatImage.getHeight() != rows) {
+            threatImage = new WritableImage(cols, rows);
+            threatImageVersion = -1;
+        }
+        if (threatImageVersion != threat.getVersion()) {
+            PixelWriter pw = threatImage.getPixelWriter();
+            int max = Math.max(1, threat.getMaxThreat());
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int count = threat.threatAt(r, c);
+                    int alpha = count == 0 ? 0 : (int) Math.round(255 * (0.14 + 0.34 * count / max));
+                    pw.setArgb(c, r, (alpha << 24) | 0xD74B3C);
+                }
+            }
+            threatImageVersion = threat.getVersion();
+        }
+        gc.drawImage(threatImage, offsetX, offsetY, gridWidth, gridHeight);
+    }
+
+    /** A suggestion no longer applies once its unit has moved or died, or the turn has passed. */
+    private boolean suggestionStale() {
+        GridObject unit = suggestion.unit();
+        return !battleStarted
+            || turnManager.getCurrentCombatant() != suggestionTurn
+            || !grid.getEntities().contains(unit)
+            || CombatManager.isTargetDead(unit)
+            || unit.getRow() * grid.getCols() + unit.getCol() != suggestionOrigin;
+    }
+
+    /** The suggested walk as a line from the unit to its tile, that tile, and the target ringed. */
+    private void drawSuggestion(GraphicsContext gc, double offsetX, double offsetY, double cellSize) {
+        GridObject unit = suggestion.unit();
+        int cols = grid.getCols();
+        int[] path = suggestionPath;
+        if (path != null && path.length > 0) {
+            gc.setStroke(SUGGEST_COLOR);
+            gc.setLineWidth(Math.max(2, cellSize * 0.08));
+            gc.setLineCap(StrokeLineCap.ROUND);
+            gc.beginPath();
+            gc.moveTo(offsetX + (unit.getCol() + 0.5) * cellSize,
+                offsetY + (unit.getRow() + 0.5) * cellSize - liftFor(unit.getRow(), unit.getCol(), cellSize));
+            for (int cell : path) {
+                int r = cell / cols;
+                int c = cell % cols;
+                gc.lineTo(offsetX + (c + 0.5) * cellSize, offsetY + (r + 0.5) * cellSize - liftFor(r, c, cellSize));
+            }
+            gc.stroke();
+            gc.setLineCap(StrokeLineCap.BUTT);
+        }
+
+        double x = offsetX + suggestion.col() * cellSize;
+        double y = offsetY + suggestion.row() * cellSize - liftFor(suggestion.row(), suggestion.col(), cellSize);
+        gc.setFill(Color.rgb(230, 178, 60, 0.22));
+        gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+        gc.setStroke(SUGGEST_COLOR);
+        gc.setLineWidth(2);
+        gc.strokeRect(x + 2, y + 2, cellSize - 4, cellSize - 4);
+
+        GridObject target = suggestion.target();
+        if (target != null) {
+            double tx = offsetX + target.getCol() * cellSize;
+            double ty = offsetY + target.getRow() * cellSize - liftFor(target.getRow(), target.getCol(), cellSize);
+            double inset = cellSize * 0.12;
+            gc.setStroke(Color.rgb(215, 95, 95, 0.9));
+            gc.setLineWidth(2);
+            gc.strokeOval(tx + inset, ty + inset, cellSize - inset * 2, cellSize - inset * 2);
+            gc.strokeLine(tx + cellSize / 2, ty + 2, tx + cellSize / 2, ty + inset * 2);
+            gc.strokeLine(tx + cellSize / 2, ty + cellSize - inset * 2, tx + cellSize / 2, ty + cellSize - 2);
+            gc.strokeLine(tx + 2, ty + cellSize / 2, tx + inset * 2, ty + cellSize / 2);
+            gc.strokeLine(tx + cellSize - inset * 2, ty + cellSize / 2, tx + cellSize - 2, ty + cellSize / 2);
+        }
+        gc.setLineWidth(1);
+    }
+
+    /** Expected value (and the item to use, if any) in a tag above the suggested tile. */
+    private void drawSuggestionLabel(GraphicsContext gc, double offsetX, double offsetY, double cellSize) {
+        String msg = String.format("EV %.0f%%", suggestion.expectedValue() * 100);
+        if (suggestion.item() != null) {
+            msg = suggestion.item().getName() + " - " + msg;
+        }
+        Font font = Font.font("Consolas", FontWeight.BOLD, 12);
+        javafx.scene.text.Text measure = new javafx.scene.text.Text(msg);
+        measure.setFont(font);
+        double textW = measure.getLayoutBounds().getWidth();
+        double centerX = offsetX + (suggestion.col() + 0.5) * cellSize;
+        double centerY = offsetY + suggestion.row() * cellSize
+            - liftFor(suggestion.row(), suggestion.col(), cellSize) - 12;
+
+        gc.setFill(Color.web("#1e1e20", 0.85));
+        gc.fillRoundRect(centerX - textW / 2 - 6, centerY - 9, textW + 12, 18, 8, 8);
+        gc.setStroke(SUGGEST_COLOR);
+        gc.setLineWidth(1);
+        gc.strokeRoundRect(centerX - textW / 2 - 6, centerY - 9, textW + 12, 18, 8, 8);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(font);
+        gc.setFill(Color.web("#dcdcdc"));
+        gc.fillText(msg, centerX, centerY);
+    }
+
+    /** Survivor count in the top-right corner of a squad's tile. */
+    private void drawSquadBadge(GraphicsContext gc, double x, double y, double cellSize, int survivors) {
+        String msg = "x" + survivors;
+        double size = Math.max(9, cellSize * 0.22);
+        Font font = Font.font("Consolas", FontWeight.BOLD, size);
+        javafx.scene.text.Text measure = new javafx.scene.text.Text(msg);
+        measure.setFont(font);
+        double w = measure.getLayoutBounds().getWidth() + 6;
+        double h = size + 4;
+        double bx = x + cellSize - w - 2;
+        double by = y + 2;
+
+        gc.setFill(Color.web("#1e1e20", 0.85));
+        gc.fillRoundRect(bx, by, w, h, 6, 6);
+        gc.setStroke(Color.web("#d75f5f"));
+        gc.setLineWidth(1);
+        gc.strokeRoundRect(bx, by, w, h, 6, 6);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(font);
+        gc.setFill(Color.web("#dcdcdc"));
+        gc.fillText(msg, bx + w / 2, by + h / 2);
+    }
+
+    /** Dim unexplored cells heavily and remembered-but-unseen cells lightly. */
+    private void drawFog(GraphicsContext gc, double offsetX, double offsetY, double gridWidth, double gridHeight) {
+        FogOfWar fog = grid.getPartyFog();
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (fogImage == null || fogImage.getWidth() != cols || fogImage.getHeight() != rows) {
+            fogImage = new WritableImage(cols, rows);
+            fogImageVersion = -1;
+        }
+        if (fogImageVersion != fog.getVersion()) {
+            PixelWriter pw = fogImage.getPixelWriter();
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int argb = fog.isVisible(r, c) ? 0
+                        : fog.isExplored(r, c) ? FOG_EXPLORED_ARGB : FOG_UNEXPLORED_ARGB;
+                    pw.setArgb(c, r, argb);
+                }
+            }
+            fogImageVersion = fog.getVersion();
+        }
+        gc.drawImage(fogImage, offsetX, offsetY, gridWidth, gridHeight);
+    }
+
     /** Centered pill banner used for the party-placement prompt. */
     private void drawPlacementBanner(GraphicsContext gc, String msg, double centerX, double centerY) {
         Font font = Font.font("Consolas", FontWeight.BOLD, 15);
@@ -1700,16 +2061,35 @@ public class BattleGridCanvas extends Pane {
         live.add(obj);
         int[] last = lastGridPositions.get(obj);
         if (last != null && (last[0] != row || last[1] != col) && battleStarted) {
-            // Start from wherever the unit is currently drawn so an
-            // interrupted tween continues smoothly instead of snapping
-            double[] from = currentDrawPosition(obj, last[0], last[1], now);
-            int dist = Math.abs(last[0] - row) + Math.abs(last[1] - col);
-            double duration = Math.min(400, Math.max(140, dist * TWEEN_MS_PER_TILE));
-            moveTweens.put(obj, new MoveTween(from[0], from[1], now, duration));
+            startMoveTween(obj, last[0], last[1], row, col, grid.findPath(last[0], last[1], row, col), now);
         }
         lastGridPositions.put(obj, new int[]{row, col});
     }
 
+    /** Slide a unit from (fromRow, fromCol) to its new tile along the path; returns the duration in ms. */
+    private double startMoveTween(GridObject obj, int fromRow, int fromCol, int row, int col, int[] path, long now) {
+        // Start from wherever the unit is currently drawn so an
+        // interrupted tween continues smoothly instead of snapping
+        double[] from = currentDrawPosition(obj, fromRow, fromCol, now);
+        // Walk the route around walls; if there is none (e.g. a unit was
+        // repositioned by hand), fall back to sliding straight there
+        if (path == null || path.length == 0) {
+            path = new int[]{row * grid.getCols() + col};
+        }
+        double[] rows = new double[path.length + 1];
+        double[] cols = new double[path.length + 1];
+        rows[0] = from[0];
+        cols[0] = from[1];
+        for (int i = 0; i < path.length; i++) {
+            rows[i + 1] = path[i] / grid.getCols();
+            cols[i + 1] = path[i] % grid.getCols();
+        }
+        double tiles = Math.max(path.length, Math.abs(fromRow - row) + Math.abs(fromCol - col));
+        double duration = Math.min(TWEEN_MAX_MS, Math.max(140, tiles * TWEEN_MS_PER_TILE));
+        moveTweens.put(obj, new MoveTween(rows, cols, now, duration));
+        return duration;
+    }
+
     /**
      * Where to draw a unit right now, in fractional grid coordinates
      * {row, col}: its tween position while sliding, its tile otherwise.
@@ -1725,7 +2105,15 @@ public class BattleGridCanvas extends Pane {
             return new double[]{row, col};
         }
         p = 1 - Math.pow(1 - p, 3); // ease-out
-        return new double[]{t.fromRow + (row - t.fromRow) * p, t.fromCol + (col - t.fromCol) * p};
+        // Every leg is one tile (the first may be shorter after an interrupted
+        // tween), so progress maps evenly onto the legs
+        int legs = t.rows.length - 1;
+        double along = p * legs;
+        int leg = Math.min(legs - 1, (int) along);
+        double f = along - leg;
+        return new double[]{
+            t.rows[leg] + (t.rows[leg + 1] - t.rows[leg]) * f,
+            t.cols[leg] + (t.cols[leg + 1] - t.cols[leg]) * f};
     }
 
     /**
@@ -0,0 +1,95 @@
+package UI.Battle;
+
+import EntityRes.DiceSpec;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Every random roll in one battle, drawn from a single recorded seed so the battle can be
+ * replayed: the same seed and the same player inputs give the same initiative, coin flips
+ * and rolled damage.
+ *
+ * Each kind of roll has its own {@link Purpose} stream derived from the seed, so an extra
+ * damage roll does not shift the initiative that follows it. Streams belong to the FX
+ * thread; work on other threads takes a {@link #childSeed} and builds its own generator
+ * from that, which costs nothing to create and never contends with the battle's streams.
+ */
+public final class BattleRng {
+
+    /**
+     * What a roll is for; each purpose draws from its own stream. New purposes go at the end,
+     * so existing streams keep their seeds.
+     */
+    public enum Purpose { INITIATIVE, TIE_BREAK, DAMAGE, SIMULATION, PLACEMENT, ATTACK }
+
+    // SplittableRandom's own gamma; child seeds are scrambled so they don't share its stride
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private final SplittableRandom[] streams = new SplittableRandom[Purpose.values().length];
+
+    public BattleRng(long seed) {
+        reseed(seed);
+    }
+
+    /**
+     * Restart every stream from {@code seed}, as if newly created with it. A battle reseeds
+     * when it begins, so rolls made while setting up never shift the battle's own.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        for (Purpose purpose : Purpose.values()) {
+            streams[purpose.ordinal()] = new SplittableRandom(childSeed(seed, purpose.ordinal()));
+        }
+    }
+
+    /** A fresh, unpredictable seed for a new battle. */
+    public static long newSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Seed for the i-th child of a seed. Consecutive children are scrambled with a SplitMix
+     * finalizer: SplittableRandom's stride is the same golden-ratio constant, so seeding with
+     * seed + i * stride would just start each child one draw further along the same stream.
+     */
+    public static long childSeed(long seed, long index) {
+        long z = seed + (index + 1) * SEED_STRIDE;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Seed for a worker-side generator, e.g. a batch of simulations; replays like any other roll. */
+    public long nextChildSeed() {
+        return streams[Purpose.SIMULATION.ordinal()].nextLong();
+    }
+
+    /** A d20 roll, 1-20. */
+    public int d20(Purpose purpose) {
+        return streams[purpose.ordinal()].nextInt(1, 21);
+    }
+
+    /** A uniform draw from 0 (inclusive) to {@code bound} (exclusive). */
+    public int nextInt(int bound, Purpose purpose) {
+        return streams[purpose.ordinal()].nextInt(bound);
+    }
+
+    /** Roll a dice expression. */
+    public int roll(DiceSpec dice, Purpose purpose) {
+        return dice.roll(streams[purpose.ordinal()]);
+    }
+
+    /** Shuffle in place (Fisher-Yates), e.g. to settle a tie by coin flip. */
+    public <T> void shuffle(List<T> list, Purpose purpose) {
+        SplittableRandom stream = streams[purpose.ordinal()];
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = stream.nextInt(i + 1);
+            list.set(j, list.set(i, list.get(j)));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package UI.Battle;
+
+import Objects.GridObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless Monte Carlo of a battle: plays the current setup out many times with automatic
+ * dice and a simple policy, and reports how it tends to end.
+ *
+ * The setup is captured once into a {@link CombatModel} plus the {@link TurnManager}'s
+ * initiative settings, so the live battle is never touched, runs can go on any thread,
+ * and a run allocates nothing per turn. Every combatant follows the default policy of
+ * {@link Playout}: close on the nearest living foe and attack the weakest adjacent one.
+ *
+ * Runs are spread over the fork/join pool. Each run draws from its own
+ * {@link SplittableRandom} seeded by {@link BattleRng#childSeed} from the base seed and
+ * the run's index, so a report depends only on the seed and run count, never on how the
+ * work was split.
+ */
+public final class BattleSimulator {
+
+    /** Rounds after which a run is called a draw (counted as not won). */
+    public static final int MAX_ROUNDS = 100;
+
+    /** Runs for a quick read of the live battle. */
+    public static final int DEFAULT_RUNS = 2000;
+
+    private static final int RUNS_PER_TASK = 256;
+    private static final double Z_95 = 1.959964;
+
+    /** A combatant's fate over every run, with a 95% interval on its death chance. */
+    public record Casualty(GridObject unit, String name, boolean enemy,
+            double deathChance, double low, double high) {}
+
+    /**
+     * Outcome of a batch of runs. Rates carry 95% Wilson intervals; rounds are the mean over
+     * runs that ended before {@link #MAX_ROUNDS}, with a 95% normal interval. Health loss
+     * is the mean share of the party's starting health lost per run.
+     */
+    public record Report(int runs, double partyWinRate, double winLow, double winHigh,
+            double drawRate, double expectedRounds, double roundsLow, double roundsHigh,
+            double partyHealthLoss, List<Casualty> casualties) {}
+
+    private final CombatModel model;
+    private final Playout.Order order;
+
+    private BattleSimulator(CombatModel model, TurnManager turns) {
+        this.model = model;
+        this.order = Playout.Order.of(model, turns);
+    }
+
+    /** Capture the live battle for simulation. Call on the FX thread; run() may go anywhere. */
+    public static BattleSimulator of(BattleGrid grid, TurnManager turns) {
+        return new BattleSimulator(CombatModel.capture(grid), turns);
+    }
+
+    /**
+     * A party against a hypothetical roster, on an open arena with the sides {@code gap}
+     * rows apart; initiative is rolled normally in every run. Used to rate encounters
+     * before anything is placed.
+     */
+    public static BattleSimulator arena(List<BattleSnapshot.UnitState> party,
+            List<BattleSnapshot.UnitState> foes, int gap) {
+        return new BattleSimulator(CombatModel.arena(party, foes, gap), null);
+    }
+
+    /** Play the battle out {@code runs} times over the common fork/join pool. */
+    public Report run(int runs, long seed) {
+        Tally tally = ForkJoinPool.commonPool().invoke(new Batch(seed, 0, Math.max(0, runs)));
+        return tally.report(runs);
+    }
+
+    // ===== FORK/JOIN =====
+
+    @SuppressWarnings("serial")  // never serialized; RecursiveTask is Serializable by inheritance
+    private final class Batch extends RecursiveTask<Tally> {
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        Batch(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= RUNS_PER_TASK) {
+                Tally tally = new Tally(model.unitCount);
+                Playout run = new Playout(model);
+                for (int i = from; i < to; i++) {
+                    play(run, new SplittableRandom(BattleRng.childSeed(seed, i)), tally);
+                }
+                return tally;
+            }
+            int mid = (from + to) >>> 1;
+            Batch left = new Batch(seed, from, mid);
+            left.fork();
+            Tally right = new Batch(seed, mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    private final class Tally {
+        int wins;
+        int draws;
+        long rounds;
+        long roundsSquared;
+        long healthLost;
+        final int[] deaths;
+
+        Tally(int unitCount) {
+            deaths = new int[unitCount];
+        }
+
+        Tally merge(Tally other) {
+            wins += other.wins;
+            draws += other.draws;
+            rounds += other.rounds;
+            roundsSquared += other.roundsSquared;
+            healthLost += other.healthLost;
+            for (int i = 0; i < deaths.length; i++) {
+                deaths[i] += other.deaths[i];
+            }
+            return this;
+        }
+
+        Report report(int runs) {
+            double[] win = wilson(wins, runs);
+            int finished = runs - draws;
+            double mean = finished == 0 ? 0 : (double) rounds / finished;
+            double variance = finished < 2 ? 0
+                : Math.max(0, ((double) roundsSquared - finished * mean * mean) / (finished - 1));
+            double margin = finished == 0 ? 0 : Z_95 * Math.sqrt(variance / finished);
+            List<Casualty> casualties = new ArrayList<>(model.unitCount);
+            long partyHealth = 0;
+            for (int i = 0; i < model.unitCount; i++) {
+                double[] death = wilson(deaths[i], runs);
+                casualties.add(new Casualty(model.source[i], model.name[i], model.enemy[i],
+                    death[0], death[1], death[2]));
+                if (!model.enemy[i]) partyHealth += model.health[i];
+            }
+            double healthLoss = runs == 0 || partyHealth == 0 ? 0 : (double) healthLost / ((long) runs * partyHealth);
+            return new Report(runs, win[0], win[1], win[2], runs == 0 ? 0 : (double) draws / runs,
+                mean, mean - margin, mean + margin, healthLoss, List.copyOf(casualties));
+        }
+    }
+
+    /** Rate and 95% Wilson score interval for k successes in n trials. */
+    private static double[] wilson(int k, int n) {
+        if (n == 0) return new double[]{0, 0, 1};
+        double p = (double) k / n;
+        double z2 = Z_95 * Z_95;
+        double center = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double half = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+        return new double[]{p, Math.max(0, center - half), Math.min(1, center + half)};
+    }
+
+    // ===== ONE BATTLE =====
+
+    private void play(Playout run, SplittableRandom rng, Tally tally) {
+        run.reset();
+        int turn = run.setUpOrder(order, rng);
+        int round = 1;
+        while (run.winner() == 0) {
+            int actor = run.order[turn];
+            if (run.health[actor] > 0) {
+                run.takeTurn(actor, rng);
+            }
+            if (++turn == run.order.length) {
+                turn = 0;
+                if (++round > MAX_ROUNDS) break;
+            }
+        }
+        if (round > MAX_ROUNDS) {
+            tally.draws++;
+        } else {
+            if (run.winner() > 0) tally.wins++;
+            tally.rounds += round;
+            tally.roundsSquared += (long) round * round;
+        }
+        for (int i = 0; i < run.health.length; i++) {
+            if (run.health[i] <= 0) tally.deaths[i]++;
+            if (!model.enemy[i]) tally.healthLost += model.health[i] - Math.max(0, run.health[i]);
+        }
+    }
+}
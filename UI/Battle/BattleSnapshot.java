@@ -0,0 +1,148 @@
+package UI.Battle;
+
+import EntityRes.DiceSpec;
+import Objects.*;
+import java.util.*;
+
+/**
+ * Immutable view of a {@link BattleGrid} at one moment: shape, elevation, terrain and
+ * every combatant's position and combat numbers. Built on the FX thread by
+ * {@link BattleGrid#snapshot()} and then safe to read from any worker (AI planning,
+ * odds, autosave) while the live grid keeps changing.
+ *
+ * Cell data is structurally shared with the live grid through copy-on-write chunks, so
+ * taking a snapshot does not copy the board; units and terrain are captured as small
+ * value records.
+ */
+public final class BattleSnapshot {
+
+    /**
+     * A combatant frozen at snapshot time. {@code source} identifies the live object so
+     * a worker's result can be mapped back on the FX thread; workers must not read it.
+     */
+    public record UnitState(GridObject source, String name, boolean enemy, int row, int col,
+            int health, int maxHealth, int armorClass, int attackModifier, int movement,
+            List<DiceSpec> damageDice) {
+
+        public boolean isDead() {
+            return health <= 0;
+        }
+    }
+
+    /** A standing (not destroyed) terrain object frozen at snapshot time. */
+    public record TerrainState(int row, int col, String type, int health, boolean blocksMovement) {
+    }
+
+    private final int rows;
+    private final int cols;
+    private final ChunkedGrid cells;
+    private final List<UnitState> units;
+    private final List<TerrainState> terrain;
+    private final Map<Integer, UnitState> unitByCell;
+    private final Map<Integer, TerrainState> terrainByCell;
+    private final BitSet blockingTerrain;    // cells whose terrain blocks movement
+
+    BattleSnapshot(int rows, int cols, ChunkedGrid cells, List<UnitState> units, List<TerrainState> terrain) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = cells;
+        this.units = List.copyOf(units);
+        this.terrain = List.copyOf(terrain);
+        Map<Integer, UnitState> unitMap = new HashMap<>();
+        for (UnitState u : this.units) {
+            if (inBounds(u.row(), u.col())) {
+                unitMap.putIfAbsent(u.row() * cols + u.col(), u);
+            }
+        }
+        Map<Integer, TerrainState> terrainMap = new HashMap<>();
+        for (TerrainState t : this.terrain) {
+            if (inBounds(t.row(), t.col())) {
+                terrainMap.putIfAbsent(t.row() * cols + t.col(), t);
+            }
+        }
+        this.unitByCell = Collections.unmodifiableMap(unitMap);
+        this.terrainByCell = Collections.unmodifiableMap(terrainMap);
+        this.blockingTerrain = new BitSet();
+        terrainMap.forEach((cell, t) -> blockingTerrain.set(cell, t.blocksMovement()));
+    }
+
+    /** Capture a party member. getDamageSpecs() returns a fresh array (tiers may be null), so it is wrapped, not copied. */
+    static UnitState captureEntity(Entity e) {
+        return new UnitState(e, e.getName(), false, e.getRow(), e.getCol(), e.getHealth(),
+            e.getCharSheet().getTotalHP(), e.getAC(), e.getAttackModifier(), e.getMovement(),
+            Collections.unmodifiableList(Arrays.asList(e.getDamageSpecs())));
+    }
+
+    /** Capture an enemy. */
+    static UnitState captureEnemy(Enemy e) {
+        return new UnitState(e, e.getName(), true, e.getRow(), e.getCol(), e.getHealth(),
+            e.getMaxHealth(), e.getAC(), e.getAttackModifier(), e.getMovement(),
+            Collections.unmodifiableList(Arrays.asList(e.getDamageSpecs())));
+    }
+
+    static TerrainState captureTerrain(TerrainObject t) {
+        return new TerrainState(t.getRow(), t.getCol(), t.getType(), t.getHealth(), t.blocksMovement());
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    public boolean isEnabled(int r, int c) {
+        return inBounds(r, c) && cells.isEnabled(r, c);
+    }
+
+    public int getElevation(int r, int c) {
+        return inBounds(r, c) ? cells.getElevation(r, c) : 0;
+    }
+
+    /** Same rule as {@link BattleGrid#isWalkable}: playable and free of blocking terrain. */
+    public boolean isWalkable(int r, int c) {
+        return isEnabled(r, c) && !blockingTerrain.get(r * cols + c);
+    }
+
+    /** Same rule as {@link BattleGrid#isBlocked}: off-shape, blocking terrain, or a unit. */
+    public boolean isBlocked(int r, int c) {
+        if (!isEnabled(r, c)) {
+            return true;
+        }
+        TerrainState t = terrainByCell.get(r * cols + c);
+        if (t != null) {
+            return t.blocksMovement();
+        }
+        return unitByCell.containsKey(r * cols + c);
+    }
+
+    public UnitState getUnitAt(int r, int c) {
+        return inBounds(r, c) ? unitByCell.get(r * cols + c) : null;
+    }
+
+    public TerrainState getTerrainAt(int r, int c) {
+        return inBounds(r, c) ? terrainByCell.get(r * cols + c) : null;
+    }
+
+    /** Every combatant, party members first, in the live grid's list order. */
+    public List<UnitState> getUnits() {
+        return units;
+    }
+
+    public List<UnitState> getPartyUnits() {
+        return units.stream().filter(u -> !u.enemy()).toList();
+    }
+
+    public List<UnitState> getEnemyUnits() {
+        return units.stream().filter(UnitState::enemy).toList();
+    }
+
+    public List<TerrainState> getTerrain() {
+        return terrain;
+    }
+}
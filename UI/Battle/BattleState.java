@@ -12,6 +12,9 @@ import javafx.collections.ObservableList;
  */
 public class BattleState {
 
+    // Seed and generator for every roll in this battle, kept so the battle can be replayed
+    private final BattleRng rng;
+
     // Battle status
     private final BooleanProperty battleStarted = new SimpleBooleanProperty(false);
     private final BooleanProperty battleEnded = new SimpleBooleanProperty(false);
@@ -43,7 +46,25 @@ public class BattleState {
     private final IntegerProperty totalDamageTaken = new SimpleIntegerProperty(0);
     private final IntegerProperty enemiesDefeated = new SimpleIntegerProperty(0);
 
+    // How long the tactical advisor thinks about one suggested turn
+    private final IntegerProperty advisorBudgetMillis =
+        new SimpleIntegerProperty((int) (TacticalAdvisor.DEFAULT_BUDGET_NANOS / 1_000_000L));
+
+    public BattleState() {
+        this(BattleRng.newSeed());
+    }
+
+    /** State for a battle whose rolls replay from the given seed. */
+    public BattleState(long seed) {
+        this.rng = new BattleRng(seed);
+    }
+
     // ===== BATTLE STATUS =====
+
+    public long getSeed() { return rng.getSeed(); }
+    /** Replay a recorded battle: its rolls restart from this seed. */
+    public void setSeed(long seed) { rng.reseed(seed); }
+    public BattleRng getRng() { return rng; }
     
     public boolean isBattleStarted() { return battleStarted.get(); }
     public void setBattleStarted(boolean value) { 
@@ -139,6 +160,13 @@ public class BattleState {
     public void incrementEnemiesDefeated() { enemiesDefeated.set(enemiesDefeated.get() + 1); }
     public IntegerProperty enemiesDefeatedProperty() { return enemiesDefeated; }
 
+    // ===== SETTINGS =====
+
+    /** Thinking time for a suggested turn; kept across battles, unlike the state above. */
+    public int getAdvisorBudgetMillis() { return advisorBudgetMillis.get(); }
+    public void setAdvisorBudgetMillis(int millis) { advisorBudgetMillis.set(Math.max(1, millis)); }
+    public IntegerProperty advisorBudgetMillisProperty() { return advisorBudgetMillis; }
+
     // ===== RESET =====
     
     public void reset() {
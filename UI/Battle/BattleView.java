@@ -21,6 +21,8 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
@@ -49,6 +51,14 @@ public class BattleView {
     private ToggleButton manageTabBtn;
     private boolean dicePanelShowing = false;
 
+    // Enemy AI: when on, enemy turns are planned on a worker thread and played automatically
+    private static final double ENEMY_TURN_PAUSE_MS = 350;
+    private boolean enemyAiEnabled = false;
+    private boolean enemyTurnPending = false;
+
+    // Sim runs on a worker thread; one at a time, with the button off until its report is in
+    private final javafx.beans.property.BooleanProperty simulationPending = new javafx.beans.property.SimpleBooleanProperty(false);
+
     // Animated sidebar width: the column slides between these widths instead of
     // snapping, since the Battle/Manage tabs (and the dice-roll panel) each want
     // a different width and an instant resize reads as jarring.
@@ -62,6 +72,8 @@ public class BattleView {
     private Button useItemBtn;
     private Button swapBtn;
     private Button pickupBtn;
+    private Button suggestBtn;
+    private Button cleaveBtn;
     private ProgressBar healthBar;
     private Label healthTextLabel;
     // Stat rows that only apply to party members (Entities have all 6 stats; Enemies only have Dexterity)
@@ -114,7 +126,7 @@ public class BattleView {
         this(rows, cols, null, themeName, sheetView, appController);
     }
 
-    public BattleView(int rows, int cols, boolean[][] mask, String themeName, CharacterSheetView sheetView, AppController appController) {
+    public BattleView(int rows, int cols, ShapeMask mask, String themeName, CharacterSheetView sheetView, AppController appController) {
         this.appController = appController;
         this.sheetView = sheetView;
         this.battleState = new BattleState();
@@ -124,7 +136,7 @@ public class BattleView {
         List<Pickup> pickups = new ArrayList<>();
 
         grid = new BattleGrid(rows, cols, mask, entities, terrainObjects, pickups);
-        turnManager = new TurnManager(entities);
+        turnManager = new TurnManager(entities, battleState.getRng());
         turnManager.setBattleStarted(false);
         
         // Set up tie resolution handler for new rounds
@@ -424,8 +436,7 @@ public class BattleView {
         }
 
         if (pendingObject instanceof Entity entity) {
-            entity.setRow(row);
-            entity.setCol(col);
+            entity.moveTo(row, col);
             grid.addEntity(entity);
             addEntity(entity);
             addStatusLabel.setText("Placed: " + entity.getName());
@@ -436,19 +447,16 @@ public class BattleView {
             pendingObjectName = null;
             refreshAddObjectsPanels();
         } else if (pendingObject instanceof Enemy enemy) {
-            enemy.setRow(row);
-            enemy.setCol(col);
+            enemy.moveTo(row, col);
             grid.addEnemy(enemy);
             addEnemy(enemy);
             addStatusLabel.setText("Placed: " + enemy.getName() + " (still placing " + pendingObjectName + ")");
         } else if (pendingObject instanceof TerrainObject terrain) {
-            terrain.setRow(row);
-            terrain.setCol(col);
+            terrain.moveTo(row, col);
             grid.addTerrain(terrain);
             addStatusLabel.setText("Placed: " + terrain.getType() + " (still placing " + pendingObjectName + ")");
         } else if (pendingObject instanceof Pickup pickup) {
-            pickup.setRow(row);
-            pickup.setCol(col);
+            pickup.moveTo(row, col);
             grid.addPickup(pickup);
             addStatusLabel.setText("Placed: " + pickup.getItem().getName() + " (still placing " + pendingObjectName + ")");
         }
@@ -731,6 +739,18 @@ public class BattleView {
         pickupBtn.setOnAction(e -> gridCanvas.startPickupMode());
         pickupBtn.getStyleClass().add("button-earth");
 
+        suggestBtn = createSquareActionButton(IconUtils.Icon.STAR, "G");
+        suggestBtn.setDisable(true);
+        suggestBtn.setOnAction(e -> gridCanvas.suggestTurnForSelected());
+        suggestBtn.setTooltip(new Tooltip("Suggest a move, attack or item for this turn"));
+        suggestBtn.getStyleClass().add("button-primary");
+
+        cleaveBtn = createSquareActionButton(IconUtils.Icon.SWORDS, "C");
+        cleaveBtn.setDisable(true);
+        cleaveBtn.setOnAction(e -> gridCanvas.cleaveSelected());
+        cleaveBtn.setTooltip(new Tooltip("Cleave: attack every adjacent foe at once"));
+        cleaveBtn.getStyleClass().add("button-danger");
+
         GridPane actionsGrid = new GridPane();
         actionsGrid.setHgap(8);
         actionsGrid.setVgap(8);
@@ -739,13 +759,36 @@ public class BattleView {
         actionsGrid.add(attackBtn, 1, 0);
         actionsGrid.add(useItemBtn, 0, 1);
         actionsGrid.add(pickupBtn, 1, 1);
+        actionsGrid.add(suggestBtn, 0, 2);
+        actionsGrid.add(cleaveBtn, 1, 2);
+
+        // How long Suggest thinks: longer runs more playouts for a steadier pick
+        Label thinkLabel = new Label("Think");
+        thinkLabel.getStyleClass().add("label-muted");
+        HBox thinkRow = new HBox(4, thinkLabel);
+        thinkRow.setAlignment(Pos.CENTER_LEFT);
+        ToggleGroup thinkGroup = new ToggleGroup();
+        for (int millis : new int[] {250, 500, 1000, 2000}) {
+            ToggleButton btn = new ToggleButton(millis < 1000 ? (millis / 1000.0) + "s" : (millis / 1000) + "s");
+            btn.getStyleClass().addAll("hotbar-tab", "round-start-toggle");
+            btn.setToggleGroup(thinkGroup);
+            btn.setSelected(millis == battleState.getAdvisorBudgetMillis());
+            btn.setOnAction(e -> {
+                btn.setSelected(true);   // never leave the group with nothing selected
+                battleState.setAdvisorBudgetMillis(millis);
+            });
+            Tooltip tooltip = new Tooltip("Suggest thinks for " + millis + " ms");
+            tooltip.setShowDelay(javafx.util.Duration.millis(200));
+            btn.setTooltip(tooltip);
+            thinkRow.getChildren().add(btn);
+        }
 
         panel.getChildren().addAll(
             selectLabel, selectedEntityLabel,
             healthLabel, healthRow,
             statsLabel, acRow, strRow, dexRow, conRow, intRow, wisRow, chaRow, mobLabel,
             weapLabel, weaponRow, diceLabel, tier1Row, tier2Row, tier3Row, sep,
-            actionsLabel, actionsGrid
+            actionsLabel, actionsGrid, thinkRow
         );
 
         return panel;
@@ -883,9 +926,11 @@ public class BattleView {
             healthTextLabel.setText("-- / --");
             moveBtn.setDisable(true);
             attackBtn.setDisable(true);
+            cleaveBtn.setDisable(true);
             useItemBtn.setDisable(true);
             swapBtn.setDisable(true);
             pickupBtn.setDisable(true);
+            suggestBtn.setDisable(true);
         } else if (obj instanceof Entity e) {
             if (selectedLabel != null) selectedLabel.setText(e.getName());
             styleAdjustedValue(strLabel, e.getStatAdjustment(CharSheet.STRENGTH));
@@ -908,11 +953,11 @@ public class BattleView {
             if (primaryLabel != null) {
                 primaryLabel.setText(formatWeaponWithAmmoCount(e, primary));
             }
-            String[] dice = e.getDamageDice();
-            String[] baseDice = e.getBaseDamageDice();
-            if (tier1Label != null) tier1Label.setText(dice[0] != null ? dice[0] : "--");
-            if (tier2Label != null) tier2Label.setText(dice[1] != null ? dice[1] : "--");
-            if (tier3Label != null) tier3Label.setText(dice[2] != null ? dice[2] : "--");
+            DiceSpec[] dice = e.getDamageSpecs();
+            DiceSpec[] baseDice = e.getBaseDamageSpecs();
+            if (tier1Label != null) tier1Label.setText(dice[0] != null ? dice[0].toString() : "--");
+            if (tier2Label != null) tier2Label.setText(dice[1] != null ? dice[1].toString() : "--");
+            if (tier3Label != null) tier3Label.setText(dice[2] != null ? dice[2].toString() : "--");
             styleAdjustedDie(tier1Label, dice[0], baseDice[0]);
             styleAdjustedDie(tier2Label, dice[1], baseDice[1]);
             styleAdjustedDie(tier3Label, dice[2], baseDice[2]);
@@ -929,9 +974,11 @@ public class BattleView {
             boolean canAct = e.isParty() && battleState.isBattleStarted();
             moveBtn.setDisable(!canAct);
             attackBtn.setDisable(!canAct);
+            cleaveBtn.setDisable(!canAct);
             useItemBtn.setDisable(!canAct);
             swapBtn.setDisable(!canAct);
             pickupBtn.setDisable(!canAct);
+            suggestBtn.setDisable(!canAct);
         } else if (obj instanceof Enemy en) {
             if (selectedLabel != null) selectedLabel.setText(en.getName());
             styleAdjustedValue(dexLabel, en.getDexAdjustment());
@@ -940,11 +987,11 @@ public class BattleView {
             if (mobLabel != null) mobLabel.setText("MOB: " + en.getMovement());
             if (acLabel != null) acLabel.setText(String.valueOf(en.getAC()));
             if (primaryLabel != null) primaryLabel.setText("ATK: " + en.getAttackModifier());
-            String[] dice = en.getDamageDice();
-            String[] baseDice = en.getBaseDamageDice();
-            if (tier1Label != null) tier1Label.setText(dice[0] != null ? dice[0] : "--");
-            if (tier2Label != null) tier2Label.setText(dice[1] != null ? dice[1] : "--");
-            if (tier3Label != null) tier3Label.setText(dice[2] != null ? dice[2] : "--");
+            DiceSpec[] dice = en.getDamageSpecs();
+            DiceSpec[] baseDice = en.getBaseDamageSpecs();
+            if (tier1Label != null) tier1Label.setText(dice[0] != null ? dice[0].toString() : "--");
+            if (tier2Label != null) tier2Label.setText(dice[1] != null ? dice[1].toString() : "--");
+            if (tier3Label != null) tier3Label.setText(dice[2] != null ? dice[2].toString() : "--");
             styleAdjustedDie(tier1Label, dice[0], baseDice[0]);
             styleAdjustedDie(tier2Label, dice[1], baseDice[1]);
             styleAdjustedDie(tier3Label, dice[2], baseDice[2]);
@@ -956,14 +1003,17 @@ public class BattleView {
             if (Math.abs(healthBar.getProgress() - hpPct) > 0.001) {
                 AnimationUtils.animateProgressBar(healthBar, hpPct);
             }
-            healthTextLabel.setText(currentHP + " / " + maxHP);
+            healthTextLabel.setText(currentHP + " / " + maxHP + (en instanceof Squad squad
+                ? "  (" + squad.getSurvivors() + "/" + squad.getMembers() + " standing, dice each)" : ""));
 
             boolean canAct = battleState.isBattleStarted();
             moveBtn.setDisable(!canAct);
             attackBtn.setDisable(!canAct);
+            cleaveBtn.setDisable(!canAct);
             useItemBtn.setDisable(true);
             swapBtn.setDisable(true);
             pickupBtn.setDisable(true);
+            suggestBtn.setDisable(true);
         }
 
         // Keep focus on grid canvas for keyboard shortcuts
@@ -986,10 +1036,10 @@ public class BattleView {
      * Color a damage-dice tier label green if it's been temporarily bumped up the d4..d20
      * progression, red if bumped down, or the default white if unchanged from the weapon's die.
      */
-    private void styleAdjustedDie(Label label, String currentDie, String baseDie) {
+    private void styleAdjustedDie(Label label, DiceSpec currentDie, DiceSpec baseDie) {
         if (label == null) return;
-        int diceIndexDelta = diceIndex(currentDie) - diceIndex(baseDie);
-        String color = diceIndexDelta > 0 ? "#4CAF50" : diceIndexDelta < 0 ? "#d75f5f" : "#ffffff";
+        double meanDelta = (currentDie != null ? currentDie.getMean() : 0) - (baseDie != null ? baseDie.getMean() : 0);
+        String color = meanDelta > 0 ? "#4CAF50" : meanDelta < 0 ? "#d75f5f" : "#ffffff";
         label.setStyle("-fx-font-size: 12px; -fx-text-fill: " + color + ";");
     }
 
@@ -1227,7 +1277,36 @@ public class BattleView {
             battleState.battleStartedProperty().not().or(placementModeProperty)
         );
 
-        HBox buttons = new HBox(6, battleToggleBtn, nextTurnBtn);
+        ToggleButton enemyAiBtn = new ToggleButton("AI");
+        enemyAiBtn.getStyleClass().addAll("hotbar-tab", "round-start-toggle");
+        Tooltip enemyAiTooltip = new Tooltip("Enemies plan and take their own turns");
+        enemyAiTooltip.setShowDelay(javafx.util.Duration.millis(200));
+        enemyAiBtn.setTooltip(enemyAiTooltip);
+        enemyAiBtn.selectedProperty().addListener((obs, wasOn, on) -> {
+            enemyAiEnabled = on;
+            runEnemyTurnIfAutomated();
+        });
+
+        Button autoResolveBtn = new Button("Auto");
+        autoResolveBtn.getStyleClass().addAll("button", "timeline-button");
+        autoResolveBtn.setTooltip(new Tooltip("Play out the rest of the battle automatically"));
+        autoResolveBtn.setOnAction(e -> handleAutoResolve());
+        autoResolveBtn.disableProperty().bind(
+            battleState.battleStartedProperty().not().or(placementModeProperty)
+        );
+
+        Button simulateBtn = new Button("Sim");
+        simulateBtn.getStyleClass().addAll("button", "timeline-button");
+        simulateBtn.setTooltip(new Tooltip("Estimate the party's chance of winning from here"));
+        simulateBtn.setOnAction(e -> handleSimulate());
+        simulateBtn.disableProperty().bind(placementModeProperty.or(simulationPending));
+
+        Button seedBtn = new Button("Seed");
+        seedBtn.getStyleClass().addAll("button", "timeline-button");
+        seedBtn.setTooltip(new Tooltip("Show this battle's seed, or enter one to replay a battle"));
+        seedBtn.setOnAction(e -> handleSeed());
+
+        HBox buttons = new HBox(6, battleToggleBtn, nextTurnBtn, enemyAiBtn, autoResolveBtn, simulateBtn, seedBtn);
         buttons.setAlignment(Pos.CENTER_LEFT);
 
         // Round-start mode: Surprise (party first) / Normal / Ambush (enemies
@@ -1390,8 +1469,36 @@ public class BattleView {
         return party;
     }
 
+    /**
+     * Show the battle's seed and, before the battle begins, let the GM enter another: the
+     * same seed with the same board and inputs replays a battle roll for roll.
+     */
+    private void handleSeed() {
+        if (battleState.isBattleStarted()) {
+            showAlert(Alert.AlertType.INFORMATION, "Battle Seed", String.format(
+                "Seed: %d%nEnter it before beginning a battle to replay this one.", battleState.getSeed()));
+            return;
+        }
+        TextInputDialog dialog = new TextInputDialog(Long.toString(battleState.getSeed()));
+        dialog.setTitle("Battle Seed");
+        dialog.setHeaderText("Rolls in this battle replay from this seed:");
+        dialog.setContentText("Seed:");
+        DialogUtils.theme(dialog);
+        dialog.showAndWait().ifPresent(text -> {
+            try {
+                battleState.setSeed(Long.parseLong(text.trim()));
+                addStatusLabel.setText("Battle seed: " + battleState.getSeed());
+            } catch (NumberFormatException ex) {
+                showAlert(Alert.AlertType.WARNING, "Battle Seed", "'" + text.trim() + "' is not a seed (a whole number).");
+            }
+        });
+    }
+
     /** Start the battle once party initiative values have been entered. */
     private void commitBeginBattle(Map<Entity, Integer> partyRollInputs) {
+        // Restart the rolls from the seed, so previews and setup rolls don't shift the battle
+        battleState.setSeed(battleState.getSeed());
+        addStatusLabel.setText("Battle seed: " + battleState.getSeed());
         battleState.setBattleStarted(true);
         turnManager.setBattleStarted(true);
 
@@ -1415,6 +1522,7 @@ public class BattleView {
         timelinePane.exitInitiativeSetup();
         timelinePane.refresh();
         gridCanvas.redraw();
+        runEnemyTurnIfAutomated();
     }
 
     private void handleNextTurn() {
@@ -1422,8 +1530,139 @@ public class BattleView {
 
         timelinePane.refresh();
         gridCanvas.redraw();
+        runEnemyTurnIfAutomated();
+    }
+
+    /**
+     * With enemy AI on and an enemy to act, plan its turn on a worker thread against a
+     * {@link CombatModel} of the board, then play it and move on to the next turn. Stops at
+     * the first party turn, or once one side has nobody left.
+     */
+    private void runEnemyTurnIfAutomated() {
+        if (!enemyAiEnabled || enemyTurnPending || !battleState.isBattleStarted()) return;
+        Enemy enemy = turnManager.getCurrentEnemy();
+        if (enemy == null || partyOnField().isEmpty()) return;
+
+        enemyTurnPending = true;
+        CombatModel model = CombatModel.capture(grid);
+        MovementRange range = grid.getMovementRange(enemy);
+        Thread worker = new Thread(() -> {
+            EnemyPlanner.Plan plan = EnemyPlanner.plan(model, enemy, range, EnemyPlanner.TURN_BUDGET_NANOS);
+            javafx.application.Platform.runLater(() -> finishEnemyTurn(enemy, plan));
+        }, "enemy-ai");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void finishEnemyTurn(Enemy enemy, EnemyPlanner.Plan plan) {
+        // The GM may have ended the battle, switched AI off or moved the turn on meanwhile
+        if (!enemyAiEnabled || !battleState.isBattleStarted() || turnManager.getCurrentEnemy() != enemy) {
+            enemyTurnPending = false;
+            runEnemyTurnIfAutomated();
+            return;
+        }
+        if (plan == null) {
+            enemyTurnPending = false;
+            pauseBeforeNextTurn(enemy);
+            return;
+        }
+        // Still pending while the enemy walks, so nothing else acts under it
+        gridCanvas.applyEnemyPlan(plan, () -> {
+            enemyTurnPending = false;
+            timelinePane.refresh();
+            pauseBeforeNextTurn(enemy);
+        });
+    }
+
+    private void pauseBeforeNextTurn(Enemy enemy) {
+        // Short pause so each enemy's move and hit can be followed on the board
+        javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(Duration.millis(ENEMY_TURN_PAUSE_MS));
+        pause.setOnFinished(e -> {
+            if (enemyAiEnabled && battleState.isBattleStarted() && turnManager.getCurrentEnemy() == enemy) {
+                handleNextTurn();
+            }
+        });
+        pause.play();
     }
     
+    /**
+     * Fast-forward the rest of the battle: every remaining turn is played headlessly with
+     * automatic dice and the AI policy on both sides, and the result is written back to the
+     * board and the sheets once at the end.
+     */
+    private void handleAutoResolve() {
+        if (!battleState.isBattleStarted() || enemyTurnPending) return;
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Auto-Resolve");
+        confirm.setHeaderText(null);
+        confirm.setContentText("Play out the rest of the battle automatically? This can't be undone.");
+        DialogUtils.theme(confirm);
+        Optional<ButtonType> result = confirm.showAndWait();
+        if (result.isEmpty() || result.get() != ButtonType.OK) return;
+
+        AutoResolver resolver = AutoResolver.of(grid, turnManager);
+        if (resolver == null) return;
+        AutoResolver.Outcome outcome = resolver.resolve(battleState.getRng().nextChildSeed());
+        resolver.apply(grid, turnManager);
+        battleState.addDamageDealt(outcome.damageDealt());
+        battleState.addDamageTaken(outcome.damageTaken());
+        for (int i = 0; i < outcome.enemiesDefeated(); i++) {
+            battleState.incrementEnemiesDefeated();
+        }
+
+        timelinePane.refresh();
+        gridCanvas.redraw();
+        refreshPartyHealth();
+        updateSelectedEntity(selectedEntity != null && CombatManager.isTargetDead(selectedEntity) ? null : selectedEntity);
+
+        String ending = outcome.winner() > 0 ? "The party wins"
+            : outcome.winner() < 0 ? "The party falls" : "Still undecided";
+        showAlert(Alert.AlertType.INFORMATION, "Auto-Resolve", String.format(
+            "%s after %d more round(s).%nEnemies defeated: %d%nParty members down: %d",
+            ending, outcome.rounds(), outcome.enemiesDefeated(), outcome.partyLost()));
+    }
+
+    /**
+     * Play the battle as it stands out many times (off the FX thread) and report the party's
+     * odds, before or during the fight. Nothing on the board changes.
+     */
+    private void handleSimulate() {
+        if (simulationPending.get()) return;
+        if (grid.getEntities().isEmpty() || grid.getEnemies().isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Simulate", "Place the party and at least one enemy first.");
+            return;
+        }
+        BattleSimulator simulator = BattleSimulator.of(grid, turnManager);
+        long seed = battleState.getRng().nextChildSeed();
+        simulationPending.set(true);
+        addStatusLabel.setText("Simulating " + BattleSimulator.DEFAULT_RUNS + " battles...");
+        Thread worker = new Thread(() -> {
+            BattleSimulator.Report report = simulator.run(BattleSimulator.DEFAULT_RUNS, seed);
+            javafx.application.Platform.runLater(() -> {
+                simulationPending.set(false);
+                showSimulationReport(report);
+            });
+        }, "battle-simulator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void showSimulationReport(BattleSimulator.Report report) {
+        addStatusLabel.setText(String.format("Party wins %.0f%% of %d simulated battles",
+            report.partyWinRate() * 100, report.runs()));
+        StringBuilder deaths = new StringBuilder();
+        for (BattleSimulator.Casualty c : report.casualties()) {
+            if (!c.enemy() && c.deathChance() > 0) {
+                deaths.append(String.format("%n  %s: %.0f%%", c.name(), c.deathChance() * 100));
+            }
+        }
+        showAlert(Alert.AlertType.INFORMATION, "Simulate", String.format(
+            "Party wins: %.0f%% (%.0f-%.0f%%)%nDraws: %.0f%%%nRounds: %.1f%nParty health lost: %.0f%%%s",
+            report.partyWinRate() * 100, report.winLow() * 100, report.winHigh() * 100,
+            report.drawRate() * 100, report.expectedRounds(), report.partyHealthLoss() * 100,
+            deaths.length() > 0 ? String.format("%nChance each party member falls:") + deaths : ""));
+    }
+
     /**
      * Handle tie resolution requests from TurnManager.
      * Shows dialog for each group of tied party members.
@@ -1608,7 +1847,8 @@ public class BattleView {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Confirm End Battle");
         confirm.setHeaderText(null);
-        confirm.setContentText("End battle? Party entity states will be saved.");
+        confirm.setContentText(String.format("End battle? Party entity states will be saved.%n%nBattle seed: %d",
+            battleState.getSeed()));
         DialogUtils.theme(confirm);
 
         Optional<ButtonType> result = confirm.showAndWait();
@@ -1678,6 +1918,9 @@ public class BattleView {
 
     private List<Node> buildEnemyCards() {
         List<Node> cards = new ArrayList<>();
+        cards.add(createHotbarCard(createItemSwatch("#b48ead", IconUtils.Icon.DICE),
+            "Suggest", "Build a roster from the enemy library for a chosen difficulty",
+            "AUTO", "#b48ead", "enemy:suggest", this::suggestEncounter));
         for (String enemyName : Enemy.listSavedEnemies()) {
             Enemy template = Enemy.load(enemyName);
             if (template == null) continue;
@@ -1686,9 +1929,9 @@ public class BattleView {
             final String displayName = template.getName();
             final String name = enemyName;
             Node icon = SpriteUtils.createEnemySprite(template, 40);
-            String tooltip = String.format("%s%nHP: %d   ATK: %d   MOB: %d",
+            String tooltip = String.format("%s%nHP: %d   ATK: %d   MOB: %d%nRight-click to place a squad",
                 displayName, template.getMaxHealth(), template.getAttackModifier(), template.getMovement());
-            cards.add(createHotbarCard(icon, displayName, tooltip,
+            Node card = createHotbarCard(icon, displayName, tooltip,
                 "HP " + template.getMaxHealth(), "#d75f5f", key,
                 () -> startObjectPlacement(() -> {
                     Enemy newEnemy = Enemy.load(name);
@@ -1699,11 +1942,128 @@ public class BattleView {
                     enemyInstanceCounts.put(name, instanceNum);
                     newEnemy.setInstanceNumber(instanceNum);
                     return newEnemy;
-                }, key, displayName)));
+                }, key, displayName));
+            card.addEventFilter(MouseEvent.MOUSE_CLICKED, e -> {
+                if (e.getButton() == MouseButton.SECONDARY) {
+                    e.consume();
+                    placeSquad(name, displayName);
+                }
+            });
+            cards.add(card);
         }
         return cards;
     }
 
+    /**
+     * Ask how many members, then place a squad of the enemy: one token, one turn and one
+     * pooled health bar for the lot.
+     */
+    private void placeSquad(String enemyName, String displayName) {
+        String key = "squad:" + enemyName;
+        if (objectPlacementMode && key.equals(pendingObjectKey)) {
+            cancelObjectPlacement();
+            addStatusLabel.setText("Deselected: " + displayName + " Squad");
+            return;
+        }
+        List<Integer> sizes = List.of(3, 5, 10, 20, Squad.MAX_MEMBERS);
+        ChoiceDialog<Integer> dialog = new ChoiceDialog<>(sizes.get(1), sizes);
+        dialog.setTitle("Place Squad");
+        dialog.setHeaderText(displayName + " squad size:");
+        DialogUtils.theme(dialog);
+        Optional<Integer> size = dialog.showAndWait();
+        if (size.isEmpty()) return;
+
+        int members = size.get();
+        startObjectPlacement(() -> {
+            Enemy template = Enemy.load(enemyName);
+            if (template == null) {
+                return null;
+            }
+            Squad squad = new Squad(template, members, 0, 0);
+            int instanceNum = enemyInstanceCounts.getOrDefault(key, 0) + 1;
+            enemyInstanceCounts.put(key, instanceNum);
+            squad.setInstanceNumber(instanceNum);
+            return squad;
+        }, key, displayName + " Squad x" + members);
+    }
+
+    /**
+     * Ask for a difficulty, search the enemy library for a roster that gives the party on
+     * the field that win rate and health loss (off the FX thread), then place it opposite
+     * the party.
+     */
+    private void suggestEncounter() {
+        List<Entity> party = partyOnField();
+        if (party.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No Party", "Place the party before suggesting an encounter.");
+            return;
+        }
+        Map<String, EncounterBuilder.Target> difficulties = new LinkedHashMap<>();
+        difficulties.put("Easy (party wins ~90%, loses ~15% HP)", new EncounterBuilder.Target(0.9, 0.15));
+        difficulties.put("Medium (party wins ~75%, loses ~30% HP)", new EncounterBuilder.Target(0.75, 0.30));
+        difficulties.put("Hard (party wins ~55%, loses ~50% HP)", new EncounterBuilder.Target(0.55, 0.50));
+        difficulties.put("Deadly (party wins ~35%, loses ~70% HP)", new EncounterBuilder.Target(0.35, 0.70));
+        List<String> choices = new ArrayList<>(difficulties.keySet());
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(choices.get(1), choices);
+        dialog.setTitle("Suggest Encounter");
+        dialog.setHeaderText("Target difficulty:");
+        DialogUtils.theme(dialog);
+        Optional<String> choice = dialog.showAndWait();
+        if (choice.isEmpty()) return;
+
+        EncounterBuilder.Target target = difficulties.get(choice.get());
+        List<Enemy> templates = EncounterBuilder.loadTemplates();
+        EncounterBuilder builder = new EncounterBuilder(party, templates, battleState.getRng().nextChildSeed());
+        addStatusLabel.setText("Searching " + templates.size() + " enemy templates...");
+        Thread worker = new Thread(() -> {
+            EncounterBuilder.Suggestion suggestion = builder.suggest(target, EncounterBuilder.DEFAULT_MAX_ENEMIES);
+            javafx.application.Platform.runLater(() -> placeSuggestion(suggestion, party));
+        }, "encounter-builder");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void placeSuggestion(EncounterBuilder.Suggestion suggestion, List<Entity> party) {
+        if (suggestion == null) {
+            addStatusLabel.setText("No enemy templates to build an encounter from");
+            return;
+        }
+        List<Enemy> roster = new ArrayList<>();
+        for (Map.Entry<Enemy, Integer> entry : suggestion.roster().entrySet()) {
+            Enemy template = entry.getKey();
+            for (int i = 0; i < entry.getValue(); i++) {
+                Enemy enemy = new Enemy(template, 0, 0);
+                int instanceNum = enemyInstanceCounts.getOrDefault(template.getName(), 0) + 1;
+                enemyInstanceCounts.put(template.getName(), instanceNum);
+                enemy.setInstanceNumber(instanceNum);
+                roster.add(enemy);
+            }
+        }
+        // Cluster the roster around the tile mirroring the party's centre across the board
+        double rowSum = 0, colSum = 0;
+        for (Entity e : party) {
+            rowSum += e.getRow();
+            colSum += e.getCol();
+        }
+        int anchorRow = grid.getRows() - 1 - (int) Math.round(rowSum / party.size());
+        int anchorCol = grid.getCols() - 1 - (int) Math.round(colSum / party.size());
+        int placed = grid.spawnAll(roster, PlacementStrategy.clusterAround(anchorRow, anchorCol));
+        // Report what made it onto the board, which is less than the roster on a crowded map
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < placed; i++) {
+            addEnemy(roster.get(i));
+            counts.merge(roster.get(i).getBaseName(), 1, Integer::sum);
+        }
+        List<String> summary = new ArrayList<>();
+        counts.forEach((name, count) -> summary.add(count + "x " + name));
+        String shortfall = placed < roster.size()
+            ? String.format(" (%d of %d placed - not enough room)", placed, roster.size()) : "";
+        addStatusLabel.setText(String.format("Suggested %s%s - party wins %.0f%%, loses %.0f%% HP",
+            summary.isEmpty() ? "nothing" : String.join(", ", summary), shortfall,
+            suggestion.report().partyWinRate() * 100, suggestion.report().partyHealthLoss() * 100));
+        gridCanvas.redraw();
+    }
+
     private List<Node> buildTerrainCards() {
         List<Node> cards = new ArrayList<>();
         for (TerrainObject terrain : UI.TerrainDatabase.getInstance().getAllTerrains()) {
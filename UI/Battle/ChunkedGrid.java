@@ -0,0 +1,268 @@
+package UI.Battle;
+
+import java.util.Arrays;
+
+/**
+ * Sparse backing store for {@link BattleGrid}'s per-cell state. The board is cut
+ * into 32x32 chunks that are only allocated once a cell inside them differs from
+ * the default (flat, playable, empty), and released again when the last such cell
+ * reverts - so a mostly-empty 1000x1000 overland map costs memory proportional to
+ * its content rather than its area.
+ *
+ * Elevation is packed 2 bits per cell (levels 0..3, matching
+ * {@link BattleGrid#MAX_ELEVATION}); the shape mask stores 1 bit per disabled cell.
+ * Callers are expected to bounds-check first - BattleGrid already does.
+ *
+ * {@link #snapshot()} hands out a frozen copy that shares every chunk with this grid;
+ * the first later write to a shared chunk copies just that chunk (copy-on-write), so
+ * a snapshot costs one pass over the chunk table rather than a copy of the cells.
+ */
+public final class ChunkedGrid {
+
+    public static final int CHUNK_SHIFT = 5;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    private static final int ELEV_BITS = 2;
+    private static final int ELEV_MAX = (1 << ELEV_BITS) - 1;
+    private static final int ELEV_WORDS = CHUNK_CELLS * ELEV_BITS / 64;
+    private static final int MASK_WORDS = CHUNK_CELLS / 64;
+
+    private final int rows;
+    private final int cols;
+    private final int chunkCols;
+
+    // Per chunk: packed elevation words (null = all level 0) and how many cells are raised
+    private final long[][] elevation;
+    private final int[] raisedCounts;
+
+    // Per chunk: disabled-cell bits (null = every cell playable) and how many are disabled
+    private final long[][] disabled;
+    private final int[] disabledCounts;
+
+    // Per chunk: whether the chunk array is also referenced by a snapshot and must be
+    // copied before this grid writes to it
+    private final boolean[] elevationShared;
+    private final boolean[] disabledShared;
+
+    public ChunkedGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int chunkRows = chunksFor(rows);
+        this.chunkCols = chunksFor(cols);
+        this.elevation = new long[chunkRows * chunkCols][];
+        this.raisedCounts = new int[chunkRows * chunkCols];
+        this.disabled = new long[chunkRows * chunkCols][];
+        this.disabledCounts = new int[chunkRows * chunkCols];
+        this.elevationShared = new boolean[chunkRows * chunkCols];
+        this.disabledShared = new boolean[chunkRows * chunkCols];
+    }
+
+    private ChunkedGrid(ChunkedGrid source) {
+        this.rows = source.rows;
+        this.cols = source.cols;
+        this.chunkCols = source.chunkCols;
+        this.elevation = source.elevation.clone();
+        this.raisedCounts = source.raisedCounts.clone();
+        this.disabled = source.disabled.clone();
+        this.disabledCounts = source.disabledCounts.clone();
+        // A frozen copy is never written, so it needs no copy-on-write bookkeeping of its own
+        this.elevationShared = new boolean[elevation.length];
+        this.disabledShared = new boolean[disabled.length];
+    }
+
+    /**
+     * Frozen copy sharing all chunk arrays with this grid. This grid copies a chunk before
+     * its next write to it, so the copy never changes afterwards and may be read from
+     * any thread. Callers must not write to the returned grid.
+     */
+    public ChunkedGrid snapshot() {
+        ChunkedGrid copy = new ChunkedGrid(this);
+        Arrays.fill(elevationShared, true);
+        Arrays.fill(disabledShared, true);
+        return copy;
+    }
+
+    private static int chunksFor(int cells) {
+        return (cells + CHUNK_MASK) >> CHUNK_SHIFT;
+    }
+
+    private int chunkOf(int r, int c) {
+        return (r >> CHUNK_SHIFT) * chunkCols + (c >> CHUNK_SHIFT);
+    }
+
+    private static int localOf(int r, int c) {
+        return ((r & CHUNK_MASK) << CHUNK_SHIFT) | (c & CHUNK_MASK);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // ===== ELEVATION =====
+
+    public int getElevation(int r, int c) {
+        long[] words = elevation[chunkOf(r, c)];
+        if (words == null) return 0;
+        int bit = localOf(r, c) * ELEV_BITS;
+        return (int) (words[bit >>> 6] >>> (bit & 63)) & ELEV_MAX;
+    }
+
+    /** Store a level, clamped to what 2 bits can hold; flattening the last raised cell frees the chunk. */
+    public void setElevation(int r, int c, int level) {
+        level = Math.max(0, Math.min(ELEV_MAX, level));
+        int chunk = chunkOf(r, c);
+        long[] words = elevation[chunk];
+        if (words == null) {
+            if (level == 0) return;
+            words = elevation[chunk] = new long[ELEV_WORDS];
+            elevationShared[chunk] = false;
+        }
+        int bit = localOf(r, c) * ELEV_BITS;
+        int word = bit >>> 6;
+        int shift = bit & 63;
+        int old = (int) (words[word] >>> shift) & ELEV_MAX;
+        if (old == level) return;
+        if (elevationShared[chunk]) {
+            words = elevation[chunk] = words.clone();
+            elevationShared[chunk] = false;
+        }
+        words[word] = (words[word] & ~((long) ELEV_MAX << shift)) | ((long) level << shift);
+        if (old == 0) {
+            raisedCounts[chunk]++;
+        } else if (level == 0 && --raisedCounts[chunk] == 0) {
+            elevation[chunk] = null;
+        }
+    }
+
+    // ===== SHAPE MASK =====
+
+    public boolean isEnabled(int r, int c) {
+        long[] words = disabled[chunkOf(r, c)];
+        if (words == null) return true;
+        int bit = localOf(r, c);
+        return (words[bit >>> 6] & (1L << bit)) == 0;
+    }
+
+    public void setEnabled(int r, int c, boolean enabled) {
+        int chunk = chunkOf(r, c);
+        long[] words = disabled[chunk];
+        if (words == null) {
+            if (enabled) return;
+            words = disabled[chunk] = new long[MASK_WORDS];
+            disabledShared[chunk] = false;
+        }
+        int bit = localOf(r, c);
+        long flag = 1L << bit;
+        boolean wasEnabled = (words[bit >>> 6] & flag) == 0;
+        if (wasEnabled == enabled) return;
+        if (disabledShared[chunk]) {
+            words = disabled[chunk] = words.clone();
+            disabledShared[chunk] = false;
+        }
+        if (enabled) {
+            words[bit >>> 6] &= ~flag;
+            if (--disabledCounts[chunk] == 0) {
+                disabled[chunk] = null;
+            }
+        } else {
+            words[bit >>> 6] |= flag;
+            disabledCounts[chunk]++;
+        }
+    }
+
+    /** True when the whole board is playable, i.e. no mask chunk is allocated. */
+    public boolean isFullyEnabled() {
+        for (long[] words : disabled) {
+            if (words != null) return false;
+        }
+        return true;
+    }
+
+    /** Number of chunks currently holding elevation or mask data (for diagnostics). */
+    public int allocatedChunkCount() {
+        int count = 0;
+        for (int i = 0; i < elevation.length; i++) {
+            if (elevation[i] != null || disabled[i] != null) count++;
+        }
+        return count;
+    }
+
+    /**
+     * One occupant per cell, chunk-allocated the same way: a chunk's slot array exists
+     * only while at least one of its cells holds an object.
+     */
+    public static final class Layer<T> {
+
+        private final int chunkCols;
+        private final Object[][] slots;
+        private final int[] counts;
+
+        public Layer(int rows, int cols) {
+            this.chunkCols = chunksFor(cols);
+            this.slots = new Object[chunksFor(rows) * chunkCols][];
+            this.counts = new int[slots.length];
+        }
+
+        private int chunkOf(int r, int c) {
+            return (r >> CHUNK_SHIFT) * chunkCols + (c >> CHUNK_SHIFT);
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int r, int c) {
+            Object[] chunk = slots[chunkOf(r, c)];
+            return chunk == null ? null : (T) chunk[localOf(r, c)];
+        }
+
+        /**
+         * Store an occupant in an empty cell. Refuses (returns false) when the cell already
+         * holds a different object, so a unit passing through someone else's tile can never
+         * evict them from the index.
+         */
+        public boolean put(int r, int c, T value) {
+            if (value == null) {
+                clear(r, c);
+                return true;
+            }
+            int idx = chunkOf(r, c);
+            Object[] chunk = slots[idx];
+            if (chunk == null) {
+                chunk = slots[idx] = new Object[CHUNK_CELLS];
+            }
+            int local = localOf(r, c);
+            if (chunk[local] == null) {
+                counts[idx]++;
+            } else if (chunk[local] != value) {
+                return false;
+            }
+            chunk[local] = value;
+            return true;
+        }
+
+        public void clear(int r, int c) {
+            int idx = chunkOf(r, c);
+            Object[] chunk = slots[idx];
+            if (chunk == null) return;
+            int local = localOf(r, c);
+            if (chunk[local] != null) {
+                chunk[local] = null;
+                if (--counts[idx] == 0) {
+                    slots[idx] = null;
+                }
+            }
+        }
+
+        /** Clear the cell only if it still holds this exact occupant - never evict another one. */
+        public void remove(int r, int c, T value) {
+            Object[] chunk = slots[chunkOf(r, c)];
+            if (chunk != null && chunk[localOf(r, c)] == value) {
+                clear(r, c);
+            }
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package UI.Battle;
 
 import EntityRes.Ammunition;
+import EntityRes.DiceSpec;
 import EntityRes.Item;
 import EntityRes.Weapon;
+import EntityRes.CharSheet;
 import Objects.Entity;
 import Objects.Enemy;
 import Objects.GridObject;
+import Objects.Squad;
 import Objects.TerrainObject;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Manages combat calculations for the margin-based attack tier system.
@@ -23,6 +30,9 @@ import java.util.List;
  */
 public class CombatManager {
 
+    // Damage dice for attackers with none of their own
+    private static final DiceSpec[] DEFAULT_DICE = {DiceSpec.D4, DiceSpec.D4, DiceSpec.D6};
+
     /**
      * Result of an attack roll calculation
      */
@@ -34,7 +44,7 @@ public class CombatManager {
         public final boolean hit;
         public final int tier;        // 0 = miss, 1-3 = hit tier
         public final int bonusDamage; // Reserved for compatibility; always 0
-        public final String[] diceToRoll;
+        public final DiceSpec[] diceToRoll;
         
         public AttackResult(int d20Roll, int modifier, int targetAC) {
             this.d20Roll = d20Roll;
@@ -44,7 +54,7 @@ public class CombatManager {
             this.hit = margin >= 0;
             this.tier = hit ? calculateTier(margin) : 0;
             this.bonusDamage = 0;
-            this.diceToRoll = new String[0]; // Set separately when weapon is known
+            this.diceToRoll = new DiceSpec[0]; // Set separately when weapon is known
         }
 
         private static int calculateTier(int margin) {
@@ -93,14 +103,14 @@ public class CombatManager {
      * Get list of dice to roll for a given tier and weapon dice configuration.
      * Tiers are cumulative: tier 2 includes tier 1 dice, tier 3 includes tier 1 & 2.
      * 
-     * @param weaponDice Array of 3 dice strings [tier1, tier2, tier3]
+     * @param weaponDice Array of 3 parsed dice [tier1, tier2, tier3]
      * @param tier Attack tier (1, 2, or 3)
-     * @return List of dice strings to roll
+     * @return List of dice to roll
      */
-    public static List<String> getDiceForTier(String[] weaponDice, int tier) {
-        List<String> dice = new ArrayList<>();
+    public static List<DiceSpec> getDiceForTier(DiceSpec[] weaponDice, int tier) {
+        List<DiceSpec> dice = new ArrayList<>();
         if (weaponDice == null || weaponDice.length < 3) {
-            weaponDice = new String[]{"d4", "d4", "d6"}; // Default
+            weaponDice = DEFAULT_DICE;
         }
         
         if (tier >= 1 && weaponDice[0] != null) {
@@ -115,28 +125,58 @@ public class CombatManager {
         
         return dice;
     }
-    
+
+    /**
+     * Dice for a tier rolled by several attackers at once: the tier's dice once per member,
+     * as a squad rolls them.
+     */
+    public static List<DiceSpec> getDiceForTier(DiceSpec[] weaponDice, int tier, int members) {
+        List<DiceSpec> one = getDiceForTier(weaponDice, tier);
+        if (members <= 1) return one;
+        List<DiceSpec> dice = new ArrayList<>(one.size() * members);
+        for (int m = 0; m < members; m++) {
+            dice.addAll(one);
+        }
+        return dice;
+    }
+
+    /** How many attack together: a squad's survivors, otherwise 1. */
+    public static int getAttackingMembers(GridObject attacker) {
+        return attacker instanceof Squad squad ? Math.max(1, squad.getSurvivors()) : 1;
+    }
+
     /**
      * Format dice list for display (e.g., "2d6 + 1d10")
      */
-    public static String formatDiceList(List<String> dice) {
+    public static String formatDiceList(List<DiceSpec> dice) {
         if (dice == null || dice.isEmpty()) return "0";
         
-        // Count occurrences of each die type
-        java.util.Map<String, Integer> diceCounts = new java.util.LinkedHashMap<>();
-        for (String die : dice) {
+        // Count occurrences of each die; specs are interned, so equal dice are the same key
+        java.util.Map<DiceSpec, Integer> diceCounts = new java.util.LinkedHashMap<>();
+        for (DiceSpec die : dice) {
             diceCounts.merge(die, 1, Integer::sum);
         }
         
         StringBuilder sb = new StringBuilder();
         boolean first = true;
         for (var entry : diceCounts.entrySet()) {
-            if (!first) sb.append(" + ");
-            if (entry.getValue() > 1) {
-                sb.append(entry.getValue());
+            DiceSpec die = entry.getKey();
+            int count = entry.getValue();
+            if (die.isSingleDie()) {
+                if (!first) sb.append(" + ");
+                if (count > 1) {
+                    sb.append(count);
+                }
+                sb.append(die);
+                first = false;
+                continue;
+            }
+            // "2d6+1" twice can't be folded into one count, so list each
+            for (int i = 0; i < count; i++) {
+                if (!first) sb.append(" + ");
+                sb.append(die);
+                first = false;
             }
-            sb.append(entry.getKey());
-            first = false;
         }
         
         return sb.toString();
@@ -171,13 +211,13 @@ public class CombatManager {
     /**
      * Get damage dice for an attacker
      */
-    public static String[] getDamageDice(GridObject attacker) {
+    public static DiceSpec[] getDamageDice(GridObject attacker) {
         if (attacker instanceof Entity e) {
-            return e.getDamageDice();
+            return e.getDamageSpecs();
         } else if (attacker instanceof Enemy en) {
-            return en.getDamageDice();
+            return en.getDamageSpecs();
         }
-        return new String[]{"d4", "d4", "d6"};
+        return DEFAULT_DICE;
     }
     
     /**
@@ -301,6 +341,157 @@ public class CombatManager {
         return null; // No compatible ammo found
     }
     
+    /**
+     * Shots the attacker has left: the compatible ammunition it carries for a ranged weapon,
+     * or -1 when it needs none (enemies, melee weapons, no weapon).
+     */
+    public static int getAmmoCount(GridObject attacker) {
+        if (!(attacker instanceof Entity e)) {
+            return -1;
+        }
+        Weapon weapon = e.getCharSheet().getEquippedWeapon();
+        if (weapon == null || !weapon.isRanged()) {
+            return -1;
+        }
+        int count = 0;
+        for (Item item : e.getCharSheet().getInventory()) {
+            if (item instanceof Ammunition ammo && ammo.isCompatibleWith(weapon)) {
+                count += Math.max(0, ammo.getQuantity());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Consume several shots at once, stack by stack as {@link #consumeAmmo} would. The sheet
+     * is not saved; the caller saves once when done.
+     */
+    public static void consumeAmmoWithoutSave(GridObject attacker, int shots) {
+        if (!(attacker instanceof Entity e) || shots <= 0) {
+            return;
+        }
+        Weapon weapon = e.getCharSheet().getEquippedWeapon();
+        if (weapon == null || !weapon.isRanged()) {
+            return;
+        }
+        List<Item> inventory = new ArrayList<>(e.getCharSheet().getInventory());
+        for (Item item : inventory) {
+            if (shots == 0) break;
+            if (item instanceof Ammunition ammo && ammo.getQuantity() > 0 && ammo.isCompatibleWith(weapon)) {
+                int used = Math.min(shots, ammo.getQuantity());
+                e.getCharSheet().removeItemQuantityWithoutSave(ammo, used);
+                shots -= used;
+            }
+        }
+    }
+
+    // ===== ATTACK RESOLUTION =====
+
+    /**
+     * One rolled attack against one target: the d20, modifier and AC it was rolled against,
+     * the resulting tier (0 = miss) and the damage to deal.
+     */
+    public record AttackRoll(GridObject target, int d20Roll, int modifier, int targetAC,
+            int margin, int tier, int damage) {
+        public boolean hit() {
+            return tier > 0;
+        }
+    }
+
+    /**
+     * A multi-target attack after it has been applied: every target's roll, in the order
+     * given, and who fell. Damage is counted for the battle stats as single attacks count
+     * it: dealt to anything but terrain, taken by entities.
+     */
+    public record MultiAttackResult(GridObject attacker, List<AttackRoll> rolls, List<GridObject> defeated,
+            int damageDealt, int damageTaken, int enemiesDefeated) {}
+
+    /**
+     * Roll one attack with the battle's RNG, by the same rules as {@link DiceRollPanel}: tier
+     * dice summed, a natural 20 multiplies that by 1.5 (rounded up), then the ability modifier
+     * is added with the total floored at 0. The d20 comes from the ATTACK stream and the
+     * damage dice from DAMAGE, so rolling a die more or less for damage never changes
+     * whether a later attack hits.
+     */
+    public static AttackRoll rollAttack(GridObject attacker, GridObject target, BattleRng rng) {
+        int modifier = getAttackModifier(attacker);
+        int targetAC = getTargetAC(target);
+        int d20 = rng.d20(BattleRng.Purpose.ATTACK);
+        int margin = calculateMargin(d20, modifier, targetAC);
+        int tier = getAttackTier(margin);
+        int damage = 0;
+        if (tier > 0) {
+            for (DiceSpec die : getDiceForTier(getDamageDice(attacker), tier, getAttackingMembers(attacker))) {
+                damage += rng.roll(die, BattleRng.Purpose.DAMAGE);
+            }
+            if (d20 == 20) {
+                damage = (int) Math.ceil(damage * 1.5);
+            }
+            damage = Math.max(0, damage + AttackOdds.getAbilityModifier(modifier));
+        }
+        return new AttackRoll(target, d20, modifier, targetAC, margin, tier, damage);
+    }
+
+    /**
+     * Resolve an area or cleave attack against several targets in one pass: a hit roll and
+     * damage per target, one shot of ammunition for the whole attack, the dead taken off the
+     * grid and out of the turn order together, and each changed sheet saved once at the end.
+     * Targets already down, or listed twice, are skipped. Redrawing and battle stats are the
+     * caller's, from the result.
+     */
+    public static MultiAttackResult resolveMultiAttack(GridObject attacker, List<? extends GridObject> targets,
+            BattleGrid grid, TurnManager turns, BattleRng rng) {
+        Set<GridObject> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<CharSheet> dirty = new LinkedHashSet<>();
+        List<AttackRoll> rolls = new ArrayList<>(targets.size());
+        List<GridObject> defeated = new ArrayList<>();
+        boolean terrainDestroyed = false;
+        int damageDealt = 0;
+        int damageTaken = 0;
+        int enemiesDefeated = 0;
+
+        if (getAmmoCount(attacker) > 0 && attacker instanceof Entity e) {
+            consumeAmmoWithoutSave(e, 1);
+            dirty.add(e.getCharSheet());
+        }
+        for (GridObject target : targets) {
+            if (target == attacker || !seen.add(target) || isTargetDead(target)) continue;
+            AttackRoll roll = rollAttack(attacker, target, rng);
+            rolls.add(roll);
+            if (!roll.hit()) continue;
+
+            if (target instanceof Entity e) {
+                CharSheet sheet = e.getCharSheet();
+                sheet.setCurrentHPWithoutSave(sheet.getCurrentHP() - roll.damage());
+                dirty.add(sheet);
+                damageTaken += roll.damage();
+            } else {
+                applyDamage(target, roll.damage());
+            }
+            if (!(target instanceof TerrainObject)) {
+                damageDealt += roll.damage();
+            }
+            if (isTargetDead(target)) {
+                if (target instanceof TerrainObject) {
+                    terrainDestroyed = true;
+                } else {
+                    defeated.add(target);
+                    if (target instanceof Enemy) enemiesDefeated++;
+                }
+            }
+        }
+
+        grid.removeUnits(defeated);
+        turns.removeCombatants(defeated);
+        if (terrainDestroyed) {
+            grid.removeDestroyedTerrain();
+        }
+        for (CharSheet sheet : dirty) {
+            sheet.save();
+        }
+        return new MultiAttackResult(attacker, rolls, defeated, damageDealt, damageTaken, enemiesDefeated);
+    }
+
     /**
      * Check if attacker has ammo for their ranged weapon.
      * @return true if weapon is melee OR has compatible ammo, false if ranged with no ammo
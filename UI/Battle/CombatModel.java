@@ -0,0 +1,291 @@
+package UI.Battle;
+
+import EntityRes.DiceSpec;
+import Objects.GridObject;
+import Objects.Squad;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * A battle's board and combatants flattened into primitive arrays, one slot per unit, for
+ * code that plays a fight out many times: the {@link BattleSimulator}, AI search, odds.
+ *
+ * Everything a turn needs - health, AC, attack and ability modifiers, dexterity, movement,
+ * packed position and each tier's damage dice - is read once when the model is built, so
+ * hot loops never go back through {@code CharSheet} or the dice arrays on
+ * {@code Entity}/{@code Enemy}, and never allocate. Dice are stored as ids into one
+ * shared table of interned {@link DiceSpec}s. The board itself is not copied: the model
+ * reads shape, elevation and terrain through a {@link BattleSnapshot}, whose cell chunks
+ * are shared copy-on-write with the live grid, and reads distance to the nearest foe from
+ * frozen copies of the grid's shared {@link DistanceField}s. The model is immutable: per-run state
+ * (current health, positions) lives in the caller's own arrays, seeded from
+ * {@link #health} and {@link #position}.
+ */
+public final class CombatModel {
+
+    // Board; cells are packed as row * cols + col
+    final int rows;
+    final int cols;
+    private final BattleSnapshot board;
+    private final DistanceField partyField;   // walking cost to the nearest party member; null on an arena
+    private final DistanceField enemyField;   // and to the nearest enemy
+
+    // Units, indexed by unit id
+    final int unitCount;
+    final GridObject[] source;
+    final String[] name;
+    final boolean[] enemy;
+    final int[] health;            // at capture time
+    final int[] maxHealth;
+    final int[] armorClass;
+    final int[] attackModifier;
+    final int[] abilityModifier;
+    final int[] dexterity;
+    final int[] movement;
+    final int[] position;          // packed cell at capture time
+    final int[] memberHealth;      // one squad member's health; 0 for a single unit
+
+    // Tier t's dice for unit u are dice[tierDice[k]] for k in tierStart[u*4+t] .. tierStart[u*4+t+1]-1,
+    // rolled once per surviving member for a squad
+    final DiceSpec[] dice;
+    final int[] tierDice;
+    final int[] tierStart;
+    private final DiceSpec[][] unitDice;   // each unit's per-tier specs, for AttackOdds
+
+    // Lazily filled attacker x target odds; benign races, since AttackOdds are immutable and cached
+    private final AttackOdds[] odds;
+
+    private CombatModel(BattleSnapshot board, DistanceField partyField, DistanceField enemyField,
+            List<BattleSnapshot.UnitState> units) {
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.board = board;
+        this.partyField = partyField;
+        this.enemyField = enemyField;
+        int n = units.size();
+        this.unitCount = n;
+        source = new GridObject[n];
+        name = new String[n];
+        enemy = new boolean[n];
+        health = new int[n];
+        maxHealth = new int[n];
+        armorClass = new int[n];
+        attackModifier = new int[n];
+        abilityModifier = new int[n];
+        dexterity = new int[n];
+        movement = new int[n];
+        position = new int[n];
+        memberHealth = new int[n];
+        unitDice = new DiceSpec[n][];
+        tierStart = new int[n * 4 + 1];
+        odds = new AttackOdds[n * n];
+
+        Map<DiceSpec, Integer> ids = new IdentityHashMap<>();
+        List<DiceSpec> table = new ArrayList<>();
+        int[] flat = new int[n * 6];  // cumulative tiers roll at most 1 + 2 + 3 dice
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            BattleSnapshot.UnitState u = units.get(i);
+            source[i] = u.source();
+            name[i] = u.name();
+            enemy[i] = u.enemy();
+            health[i] = u.health();
+            maxHealth[i] = u.maxHealth();
+            armorClass[i] = u.armorClass();
+            attackModifier[i] = u.attackModifier();
+            abilityModifier[i] = AttackOdds.getAbilityModifier(u.attackModifier());
+            dexterity[i] = TurnManager.getDexterity(u.source());
+            movement[i] = u.movement();
+            position[i] = u.row() * cols + u.col();
+            unitDice[i] = u.damageDice().toArray(new DiceSpec[0]);
+            if (u.source() instanceof Squad squad) {
+                memberHealth[i] = squad.getMemberHealth();
+            }
+            // Tier 0 (a miss) rolls nothing; tiers 1-3 are cumulative
+            tierStart[i * 4] = count;
+            for (int tier = 1; tier <= 3; tier++) {
+                tierStart[i * 4 + tier] = count;
+                for (DiceSpec die : CombatManager.getDiceForTier(unitDice[i], tier)) {
+                    flat[count++] = ids.computeIfAbsent(die, d -> {
+                        table.add(d);
+                        return table.size() - 1;
+                    });
+                }
+            }
+        }
+        tierStart[n * 4] = count;
+        tierDice = Arrays.copyOf(flat, count);
+        dice = table.toArray(new DiceSpec[0]);
+    }
+
+    /**
+     * Capture the live battle's living combatants, reading the board through a
+     * {@link BattleGrid#snapshot()} and the distance fields through their own snapshots
+     * rather than copying either. Call on the FX thread; the model can then be used from
+     * any thread.
+     */
+    public static CombatModel capture(BattleGrid grid) {
+        BattleSnapshot board = grid.snapshot();
+        List<BattleSnapshot.UnitState> units = new ArrayList<>();
+        for (BattleSnapshot.UnitState u : board.getUnits()) {
+            if (!u.isDead() && board.inBounds(u.row(), u.col())) {
+                units.add(u);
+            }
+        }
+        return new CombatModel(board, grid.getPartyDistanceField().snapshot(),
+            grid.getEnemyDistanceField().snapshot(), units);
+    }
+
+    /**
+     * An open, flat arena with the party spread along the top row and the foes along the
+     * bottom, {@code gap} rows apart.
+     */
+    public static CombatModel arena(List<BattleSnapshot.UnitState> party,
+            List<BattleSnapshot.UnitState> foes, int gap) {
+        int rows = Math.max(1, gap) + 1;
+        int cols = Math.max(1, 2 * Math.max(party.size(), foes.size()) - 1);
+        List<BattleSnapshot.UnitState> placed = new ArrayList<>(party.size() + foes.size());
+        for (int i = 0; i < party.size(); i++) {
+            placed.add(placeAt(party.get(i), 0, spread(i, party.size(), cols)));
+        }
+        for (int i = 0; i < foes.size(); i++) {
+            placed.add(placeAt(foes.get(i), rows - 1, spread(i, foes.size(), cols)));
+        }
+        BattleSnapshot board = new BattleSnapshot(rows, cols, new ChunkedGrid(rows, cols), placed, List.of());
+        return new CombatModel(board, null, null, placed);
+    }
+
+    private static int spread(int i, int count, int cols) {
+        return count <= 1 ? cols / 2 : i * (cols - 1) / (count - 1);
+    }
+
+    private static BattleSnapshot.UnitState placeAt(BattleSnapshot.UnitState u, int row, int col) {
+        return new BattleSnapshot.UnitState(u.source(), u.name(), u.enemy(), row, col, u.health(),
+            u.maxHealth(), u.armorClass(), u.attackModifier(), u.movement(), u.damageDice());
+    }
+
+    // ===== RULES =====
+
+    /** Attack tier (0 = miss, 1-3) for a natural d20 roll, per {@link CombatManager}. */
+    int attackTier(int attacker, int target, int d20) {
+        return CombatManager.getAttackTier(
+            CombatManager.calculateMargin(d20, attackModifier[attacker], armorClass[target]));
+    }
+
+    /** Members standing in a unit with this much health: 1 for a single unit, fewer as a squad takes losses. */
+    int members(int unit, int currentHealth) {
+        if (memberHealth[unit] == 0) return 1;
+        return Math.max(1, (currentHealth + memberHealth[unit] - 1) / memberHealth[unit]);
+    }
+
+    /**
+     * Damage for a hit of the given tier, following {@link DiceRollPanel}: tier dice summed
+     * (once per attacking member), a natural 20 multiplies that by 1.5 (rounded up), then the
+     * ability modifier is added with the total floored at 0.
+     */
+    int rollDamage(int attacker, int tier, boolean critical, int members, RandomGenerator rng) {
+        int rolled = 0;
+        int base = attacker * 4 + tier;
+        for (int m = 0; m < members; m++) {
+            for (int k = tierStart[base]; k < tierStart[base + 1]; k++) {
+                rolled += dice[tierDice[k]].roll(rng);
+            }
+        }
+        if (critical) {
+            rolled = (int) Math.ceil(rolled * 1.5);
+        }
+        return Math.max(0, rolled + abilityModifier[attacker]);
+    }
+
+    /** Exact odds of one unit's attack on another (a squad at its captured strength), cached per pair. */
+    public AttackOdds odds(int attacker, int target) {
+        int slot = attacker * unitCount + target;
+        AttackOdds result = odds[slot];
+        if (result == null) {
+            result = AttackOdds.of(unitDice[attacker], members(attacker, health[attacker]),
+                attackModifier[attacker], armorClass[target]);
+            odds[slot] = result;
+        }
+        return result;
+    }
+
+    /** Playable and free of blocking terrain; off the board counts as not walkable. */
+    boolean walkable(int r, int c) {
+        return board.isWalkable(r, c);
+    }
+
+    int elevation(int r, int c) {
+        return board.getElevation(r, c);
+    }
+
+    /** Movement cost of one step between neighbouring tiles, as {@link MovementRange#stepCost}. */
+    int stepCost(int fromRow, int fromCol, int toRow, int toCol) {
+        int climb = board.getElevation(toRow, toCol) - board.getElevation(fromRow, fromCol);
+        return 1 + Math.max(0, climb) * MovementRange.CLIMB_COST_PER_LEVEL;
+    }
+
+    /**
+     * The captured distance field toward the unit's foes: walking cost, with climbs, to the
+     * nearest of them from any cell. Null on an arena, where the ground is open and flat
+     * and Manhattan distance gives the same answer.
+     */
+    DistanceField foeField(int unit) {
+        return enemy[unit] ? partyField : enemyField;
+    }
+
+    /** Walking cost from the cell to the unit's nearest foe as captured; see {@link #foeField}. */
+    int foeDistance(int unit, int cell) {
+        DistanceField field = foeField(unit);
+        if (field != null) {
+            return field.distance(cell / cols, cell % cols);
+        }
+        int best = DistanceField.UNREACHABLE;
+        for (int i = 0; i < unitCount; i++) {
+            if (enemy[i] != enemy[unit]) best = Math.min(best, manhattan(cell, position[i]));
+        }
+        return best;
+    }
+
+    int manhattan(int cellA, int cellB) {
+        return Math.abs(cellA / cols - cellB / cols) + Math.abs(cellA % cols - cellB % cols);
+    }
+
+    // ===== QUERIES =====
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    /** The live object a unit was captured from, to map results back on the FX thread. */
+    public GridObject getSource(int unit) {
+        return source[unit];
+    }
+
+    public String getName(int unit) {
+        return name[unit];
+    }
+
+    public boolean isEnemy(int unit) {
+        return enemy[unit];
+    }
+
+    /** Unit id captured from this live object, or -1. */
+    public int indexOf(GridObject live) {
+        for (int i = 0; i < unitCount; i++) {
+            if (source[i] == live) return i;
+        }
+        return -1;
+    }
+}
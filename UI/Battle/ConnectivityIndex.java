@@ -0,0 +1,160 @@
+package UI.Battle;
+
+import java.util.BitSet;
+
+/**
+ * Connected-region labels over a grid's walkable cells (4-way, matching grid movement),
+ * so "can anything get from A to B at all?" is a pair of near-constant-time lookups
+ * instead of a search.
+ *
+ * Labels live in a union-find forest. A cell opening up just unions it with its walkable
+ * neighbours; a cell closing can split a region, so only that region is re-flooded from
+ * the closed cell's neighbours - the rest of the board is left alone.
+ */
+public final class ConnectivityIndex {
+
+    /** Whether a cell can be walked on, ignoring units (they move every turn). */
+    @FunctionalInterface
+    public interface Walkable {
+        boolean test(int r, int c);
+    }
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final int rows;
+    private final int cols;
+    private final Walkable walkable;
+
+    // parent[cell] = next cell toward the region root, or -1 for a closed cell
+    private final int[] parent;
+
+    // Scratch for re-flooding, allocated on the first split
+    private int[] queue;
+    private BitSet seen;
+
+    public ConnectivityIndex(int rows, int cols, Walkable walkable) {
+        this.rows = rows;
+        this.cols = cols;
+        this.walkable = walkable;
+        this.parent = new int[rows * cols];
+        rebuild();
+    }
+
+    /** Label the whole board from scratch: one pass, unioning each cell with its up/left neighbours. */
+    public void rebuild() {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int cell = r * cols + c;
+                if (!walkable.test(r, c)) {
+                    parent[cell] = -1;
+                    continue;
+                }
+                parent[cell] = cell;
+                if (r > 0 && parent[cell - cols] >= 0) union(cell, cell - cols);
+                if (c > 0 && parent[cell - 1] >= 0) union(cell, cell - 1);
+            }
+        }
+    }
+
+    /**
+     * Bring one cell's label in line with its current walkability. Call after anything
+     * that can open or close a cell (terrain placed, moved or cleared; shape edits).
+     */
+    public void refresh(int r, int c) {
+        int cell = r * cols + c;
+        boolean open = walkable.test(r, c);
+        boolean wasOpen = parent[cell] >= 0;
+        if (open == wasOpen) return;
+        if (open) {
+            parent[cell] = cell;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d];
+                int nc = c + DC[d];
+                if (inBounds(nr, nc) && parent[nr * cols + nc] >= 0) {
+                    union(cell, nr * cols + nc);
+                }
+            }
+        } else {
+            parent[cell] = -1;
+            split(r, c);
+        }
+    }
+
+    /** Region id of a cell (stable only until the next change), or -1 when it is not walkable. */
+    public int regionOf(int r, int c) {
+        if (!inBounds(r, c)) return -1;
+        int cell = r * cols + c;
+        return parent[cell] < 0 ? -1 : find(cell);
+    }
+
+    public boolean connected(int r0, int c0, int r1, int c1) {
+        int a = regionOf(r0, c0);
+        return a >= 0 && a == regionOf(r1, c1);
+    }
+
+    private boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    private int find(int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]]; // path halving
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb) {
+            parent[ra] = rb;
+        }
+    }
+
+    /**
+     * The closed cell's old region may now be several. Flood out from each open neighbour
+     * not yet reached, making the seed the root of everything it reaches; together the
+     * floods cover exactly the old region, so no other cell is touched.
+     */
+    private void split(int r, int c) {
+        if (queue == null) {
+            queue = new int[rows * cols];
+            seen = new BitSet(rows * cols);
+        }
+        int visitedTotal = 0;
+        for (int d = 0; d < 4; d++) {
+            int nr = r + DR[d];
+            int nc = c + DC[d];
+            if (!inBounds(nr, nc)) continue;
+            int seed = nr * cols + nc;
+            if (parent[seed] < 0 || seen.get(seed)) continue;
+            int head = visitedTotal;
+            int tail = visitedTotal;
+            queue[tail++] = seed;
+            seen.set(seed);
+            while (head < tail) {
+                int cell = queue[head++];
+                parent[cell] = seed;
+                int cr = cell / cols;
+                int cc = cell % cols;
+                for (int k = 0; k < 4; k++) {
+                    int ar = cr + DR[k];
+                    int ac = cc + DC[k];
+                    if (!inBounds(ar, ac)) continue;
+                    int next = ar * cols + ac;
+                    if (parent[next] >= 0 && !seen.get(next)) {
+                        seen.set(next);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            visitedTotal = tail;
+        }
+        // Clear only the bits this split set, keeping the scratch reusable at region cost
+        for (int i = 0; i < visitedTotal; i++) {
+            seen.clear(queue[i]);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package UI.Battle;
 
+import EntityRes.DiceSpec;
 import Objects.GridObject;
 import UI.AnimationUtils;
 import UI.IconUtils;
@@ -13,7 +14,9 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -41,19 +44,21 @@ public class DiceRollPanel extends VBox {
     private GridObject target;
     private int attackModifier;
     private int targetAC;
-    private String[] damageDice;
+    private DiceSpec[] damageDice;
+    private int members;                // attackers rolling the dice: a squad's survivors, else 1
     
     // Attack result
     private int d20Result;
     private int margin;
     private int tier;
-    private List<String> diceToRoll;
+    private List<DiceGroup> diceGroups;
     
     // UI Components
     private final Label titleLabel;
     private final Label attackerLabel;
     private final Label targetLabel;
     private final Label infoLabel;
+    private final Label oddsLabel;
     private final Label resultLabel;
     private final VBox inputArea;
     private final TextField d20Input;
@@ -68,6 +73,26 @@ public class DiceRollPanel extends VBox {
     // Callbacks
     private Consumer<AttackOutcome> onAttackComplete;
     private Runnable onCancel;
+
+    /**
+     * Copies of one die rolled together and entered as a single total, so a squad's
+     * 50 x d6 is one "50d6" field rather than fifty.
+     */
+    private record DiceGroup(DiceSpec die, int count) {
+        int min() {
+            return count * die.getMin();
+        }
+
+        int max() {
+            return count * die.getMax();
+        }
+
+        @Override
+        public String toString() {
+            if (count == 1) return die.toString();
+            return die.isSingleDie() ? count + die.toString() : count + "x(" + die + ")";
+        }
+    }
     
     /**
      * Result of a completed attack
@@ -130,6 +155,9 @@ public class DiceRollPanel extends VBox {
         infoLabel = new Label("Modifier: +0 | AC: 10");
         infoLabel.getStyleClass().add("label-muted");
 
+        oddsLabel = new Label();
+        oddsLabel.getStyleClass().add("label-muted");
+
         Separator sep1 = new Separator();
 
         // Input area
@@ -197,7 +225,7 @@ public class DiceRollPanel extends VBox {
         
         buttonBox.getChildren().addAll(submitBtn, cancelBtn);
         
-        getChildren().addAll(headerBox, attackerLabel, targetLabel, infoLabel,
+        getChildren().addAll(headerBox, attackerLabel, targetLabel, infoLabel, oddsLabel,
                             sep1, inputArea, resultLabel, tierBox,
                             damageInputArea, diceListLabel, sep2, buttonBox);
         
@@ -220,6 +248,7 @@ public class DiceRollPanel extends VBox {
         this.attackModifier = CombatManager.getAttackModifier(attacker);
         this.targetAC = CombatManager.getTargetAC(target);
         this.damageDice = CombatManager.getDamageDice(attacker);
+        this.members = CombatManager.getAttackingMembers(attacker);
         
         // Update labels
         attackerLabel.setText("Attacker: " + CombatManager.getAttackerName(attacker));
@@ -228,6 +257,8 @@ public class DiceRollPanel extends VBox {
         String modSign = attackModifier >= 0 ? "+" : "";
         String statType = CombatManager.getStatTypeName(attacker);
         infoLabel.setText(statType.substring(0, 3) + ": " + modSign + attackModifier + " | AC: " + targetAC);
+        oddsLabel.setText(formatOdds(AttackOdds.of(damageDice, members, attackModifier, targetAC),
+            CombatManager.getTargetHealth(target)));
         
         // Reset state
         d20Input.clear();
@@ -314,7 +345,8 @@ public class DiceRollPanel extends VBox {
             tierBox.setManaged(true);
 
             // Get dice to roll, plus the flat ability-modifier bonus applied to the final total
-            diceToRoll = CombatManager.getDiceForTier(damageDice, tier);
+            List<DiceSpec> diceToRoll = CombatManager.getDiceForTier(damageDice, tier, members);
+            diceGroups = groupDice(diceToRoll);
             String diceStr = CombatManager.formatDiceList(diceToRoll);
             updateDiceListDisplay(diceStr, getAbilityModifier());
             diceListLabel.setVisible(true);
@@ -326,6 +358,15 @@ public class DiceRollPanel extends VBox {
         }
     }
 
+    /**
+     * One-line summary of an attack's odds, e.g. "Hit 65% | Avg 4.8 | Kill 12%".
+     */
+    static String formatOdds(AttackOdds odds, int targetHealth) {
+        return String.format("Hit %d%% | Avg %.1f | Kill %d%%",
+            Math.round(odds.getHitChance() * 100), odds.getExpectedDamage(),
+            Math.round(odds.getKillChance(targetHealth) * 100));
+    }
+
     /**
      * Show just the outcome (no d20/AC math) as a colored icon banner.
      */
@@ -345,7 +386,7 @@ public class DiceRollPanel extends VBox {
      * attacker's weapon uses (or Strength if unarmed) - the same stat driving the attack roll.
      */
     private int getAbilityModifier() {
-        return Math.floorDiv(attackModifier + 2, 2);
+        return AttackOdds.getAbilityModifier(attackModifier);
     }
 
     /**
@@ -365,6 +406,20 @@ public class DiceRollPanel extends VBox {
         diceListLabel.getChildren().addAll(rollText, bonusText);
     }
     
+    /**
+     * Fold repeated dice into one entry each, in first-seen order; specs are interned,
+     * so equal dice are the same key.
+     */
+    private static List<DiceGroup> groupDice(List<DiceSpec> dice) {
+        Map<DiceSpec, Integer> counts = new LinkedHashMap<>();
+        for (DiceSpec die : dice) {
+            counts.merge(die, 1, Integer::sum);
+        }
+        List<DiceGroup> groups = new ArrayList<>(counts.size());
+        counts.forEach((die, count) -> groups.add(new DiceGroup(die, count)));
+        return groups;
+    }
+
     private void setupDamageInputs() {
         damageInputArea.getChildren().clear();
         damageInputs.clear();
@@ -373,18 +428,18 @@ public class DiceRollPanel extends VBox {
         dmgLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #dcdcdc;");
         damageInputArea.getChildren().add(dmgLabel);
         
-        // Create a field for each die
-        for (int i = 0; i < diceToRoll.size(); i++) {
-            String die = diceToRoll.get(i);
+        // Create a field for each kind of die, taking the total of all its copies
+        for (int i = 0; i < diceGroups.size(); i++) {
+            DiceGroup group = diceGroups.get(i);
             HBox row = new HBox(8);
             row.setAlignment(Pos.CENTER_LEFT);
             
-            Label dieLabel = new Label(die + ":");
+            Label dieLabel = new Label(group + ":");
             dieLabel.getStyleClass().add("label-muted");
-            dieLabel.setPrefWidth(35);
+            dieLabel.setMinWidth(35);   // grows for a squad's "150d6"
 
             TextField input = new TextField();
-            input.setPromptText(getMaxForDie(die));
+            input.setPromptText(group.min() + "-" + group.max());
             input.setPrefWidth(50);
 
 
@@ -406,8 +461,10 @@ public class DiceRollPanel extends VBox {
             });
 
             damageInputs.add(input);
-            Slider dieSlider = UI.FormUtils.attachRollSlider(input, 1, getMaxValue(die));
+            Slider dieSlider = UI.FormUtils.attachRollSlider(input, group.min(), group.max());
             dieSlider.setPrefWidth(90);
+            // A tick per value only reads for a die or two; a squad's total spans hundreds
+            dieSlider.setShowTickMarks(group.max() - group.min() <= 20);
             row.getChildren().addAll(dieLabel, dieSlider, input);
             damageInputArea.getChildren().add(row);
         }
@@ -420,30 +477,6 @@ public class DiceRollPanel extends VBox {
         }
     }
     
-    private String getMaxForDie(String die) {
-        return switch (die.toLowerCase()) {
-            case "d4" -> "1-4";
-            case "d6" -> "1-6";
-            case "d8" -> "1-8";
-            case "d10" -> "1-10";
-            case "d12" -> "1-12";
-            case "d20" -> "1-20";
-            default -> "1-6";
-        };
-    }
-    
-    private int getMaxValue(String die) {
-        return switch (die.toLowerCase()) {
-            case "d4" -> 4;
-            case "d6" -> 6;
-            case "d8" -> 8;
-            case "d10" -> 10;
-            case "d12" -> 12;
-            case "d20" -> 20;
-            default -> 6;
-        };
-    }
-    
     private void processDamageRoll() {
         int totalDamage = 0;
         
@@ -460,9 +493,9 @@ public class DiceRollPanel extends VBox {
             
             try {
                 int value = Integer.parseInt(text);
-                int maxVal = getMaxValue(diceToRoll.get(i));
-                if (value < 1 || value > maxVal) {
-                    showError(diceToRoll.get(i) + " must be 1-" + maxVal);
+                DiceGroup group = diceGroups.get(i);
+                if (value < group.min() || value > group.max()) {
+                    showError(group + " must be " + group.min() + "-" + group.max());
                     input.requestFocus();
                     return;
                 }
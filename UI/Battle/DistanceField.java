@@ -0,0 +1,293 @@
+package UI.Battle;
+
+import java.util.Arrays;
+
+/**
+ * A "Dijkstra map": for every cell, the walking cost to the nearest of a set of source
+ * tiles (one faction's units), plus which source that is. Costs follow
+ * {@link MovementRange#stepCost} in the direction a unit would walk - toward the source -
+ * over static walkability, so units do not block the field.
+ *
+ * One field answers nearest-foe, steps-to-contact and approach/flee direction for every
+ * unit on the board, so an AI turn reads it per unit instead of searching per unit.
+ *
+ * Sources are patched in place. Adding one floods outward only where it is the new
+ * nearest. Removing one clears just the cells it owned and refills them from the
+ * surrounding cells. A unit moving is a remove plus an add.
+ *
+ * Cell values live in fixed-size blocks so that {@link #snapshot()} can hand a frozen
+ * copy to a worker thread without copying the board: the copy shares every block, and
+ * the live field copies a block only before its next write to it.
+ */
+public final class DistanceField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private static final int BLOCK_SHIFT = 10;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private final BattleGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int[][] dist;
+    private final int[][] owner;      // source cell each cell's distance leads to, -1 if none
+    private final boolean[] shared;   // block is also referenced by a snapshot: copy before writing
+
+    private long[] heap = new long[256];
+    private int heapSize;
+    private int[] scratch = new int[64];
+
+    DistanceField(BattleGrid grid) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        int blocks = (rows * cols + BLOCK_MASK) >> BLOCK_SHIFT;
+        this.dist = new int[blocks][];
+        this.owner = new int[blocks][];
+        this.shared = new boolean[blocks];
+        clear();
+    }
+
+    private DistanceField(DistanceField source) {
+        this.grid = source.grid;
+        this.rows = source.rows;
+        this.cols = source.cols;
+        this.dist = source.dist.clone();
+        this.owner = source.owner.clone();
+        // A frozen copy is never written, so it needs no copy-on-write bookkeeping of its own
+        this.shared = new boolean[dist.length];
+    }
+
+    /**
+     * Frozen copy sharing every block with this field, for reading off the FX thread. Only
+     * {@link #distance} and {@link #nearestSource} may be used on it; the step queries
+     * look at the live board. Call from the thread that updates the field.
+     */
+    DistanceField snapshot() {
+        DistanceField copy = new DistanceField(this);
+        Arrays.fill(shared, true);
+        return copy;
+    }
+
+    private void clear() {
+        // Fresh blocks rather than a fill, so a snapshot holding the old ones is untouched
+        for (int b = 0; b < dist.length; b++) {
+            dist[b] = new int[BLOCK_SIZE];
+            owner[b] = new int[BLOCK_SIZE];
+            Arrays.fill(dist[b], UNREACHABLE);
+            Arrays.fill(owner[b], -1);
+            shared[b] = false;
+        }
+        heapSize = 0;
+    }
+
+    private int dist(int cell) {
+        return dist[cell >>> BLOCK_SHIFT][cell & BLOCK_MASK];
+    }
+
+    private int owner(int cell) {
+        return owner[cell >>> BLOCK_SHIFT][cell & BLOCK_MASK];
+    }
+
+    private void set(int cell, int d, int source) {
+        int b = cell >>> BLOCK_SHIFT;
+        if (shared[b]) {
+            dist[b] = dist[b].clone();
+            owner[b] = owner[b].clone();
+            shared[b] = false;
+        }
+        dist[b][cell & BLOCK_MASK] = d;
+        owner[b][cell & BLOCK_MASK] = source;
+    }
+
+    /** Recompute from scratch for the given source cells (one multi-source Dijkstra). */
+    void rebuild(int[] sourceCells) {
+        clear();
+        for (int cell : sourceCells) {
+            seed(cell);
+        }
+        flood();
+    }
+
+    /** A source appeared at the cell: flood out only as far as it is now the nearest. */
+    void addSource(int cell) {
+        seed(cell);
+        flood();
+    }
+
+    /**
+     * The source at the cell is gone. Its cells are reset, then re-seeded from any
+     * neighbour still owned by another source, and flooded again; every other cell keeps
+     * its value, since losing a source can't bring anything else closer.
+     */
+    void removeSource(int cell) {
+        if (owner(cell) != cell) return;
+        // Gather the orphaned region by walking outward from the source through cells it owns
+        int count = 0;
+        scratch[count++] = cell;
+        set(cell, dist(cell), -2);
+        for (int i = 0; i < count; i++) {
+            int at = scratch[i];
+            int r = at / cols;
+            int c = at % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + DR[k];
+                int nc = c + DC[k];
+                if (!grid.inBounds(nr, nc)) continue;
+                int next = nr * cols + nc;
+                if (owner(next) == cell) {
+                    set(next, dist(next), -2);
+                    scratch = ensure(scratch, count + 1);
+                    scratch[count++] = next;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            set(scratch[i], UNREACHABLE, -1);
+        }
+        // Re-seed the region from its border with cells other sources still own
+        for (int i = 0; i < count; i++) {
+            int at = scratch[i];
+            if (!grid.isWalkable(at / cols, at % cols)) continue;
+            int r = at / cols;
+            int c = at % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + DR[k];
+                int nc = c + DC[k];
+                if (!grid.inBounds(nr, nc)) continue;
+                int from = nr * cols + nc;
+                if (owner(from) < 0 || dist(from) == UNREACHABLE) continue;
+                int candidate = dist(from) + MovementRange.stepCost(grid, r, c, nr, nc);
+                if (candidate < dist(at)) {
+                    set(at, candidate, owner(from));
+                    push(candidate, at);
+                }
+            }
+        }
+        flood();
+    }
+
+    private static int[] ensure(int[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    private void seed(int cell) {
+        set(cell, 0, cell);
+        push(0, cell);
+    }
+
+    /** Dijkstra from whatever is queued; a neighbour costs the step from it toward us. */
+    private void flood() {
+        while (heapSize > 0) {
+            long top = pop();
+            int at = (int) top;
+            int d = (int) (top >>> 32);
+            if (d > dist(at)) continue; // stale
+            int r = at / cols;
+            int c = at % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + DR[k];
+                int nc = c + DC[k];
+                if (!grid.isWalkable(nr, nc)) continue;
+                int next = nr * cols + nc;
+                int candidate = d + MovementRange.stepCost(grid, nr, nc, r, c);
+                if (candidate < dist(next)) {
+                    set(next, candidate, owner(at));
+                    push(candidate, next);
+                }
+            }
+        }
+    }
+
+    // ===== QUERIES =====
+
+    /** Walking cost from the cell to the nearest source, or {@link #UNREACHABLE}. */
+    public int distance(int r, int c) {
+        return grid.inBounds(r, c) ? dist(r * cols + c) : UNREACHABLE;
+    }
+
+    /** Packed cell (row * cols + col) of the nearest source, or -1. */
+    public int nearestSource(int r, int c) {
+        return grid.inBounds(r, c) ? owner(r * cols + c) : -1;
+    }
+
+    /**
+     * Neighbour to step onto to close in on the nearest source fastest, as a packed cell,
+     * or -1 when no free neighbour gets closer. Cells holding a unit are skipped, except
+     * the source itself.
+     */
+    public int stepToward(int r, int c) {
+        int bestCell = -1;
+        int bestDist = distance(r, c);
+        for (int k = 0; k < 4; k++) {
+            int nr = r + DR[k];
+            int nc = c + DC[k];
+            int d = distance(nr, nc);
+            if (d < bestDist && (d == 0 || !grid.isBlocked(nr, nc))) {
+                bestDist = d;
+                bestCell = nr * cols + nc;
+            }
+        }
+        return bestCell;
+    }
+
+    /** Free neighbour that gets furthest from every source, as a packed cell, or -1 if none is further. */
+    public int stepAway(int r, int c) {
+        int here = distance(r, c);
+        int bestCell = -1;
+        int bestDist = here;
+        for (int k = 0; k < 4; k++) {
+            int nr = r + DR[k];
+            int nc = c + DC[k];
+            if (!grid.inBounds(nr, nc) || grid.isBlocked(nr, nc)) continue;
+            int d = distance(nr, nc);
+            if (d == UNREACHABLE) continue;
+            if (d > bestDist) {
+                bestDist = d;
+                bestCell = nr * cols + nc;
+            }
+        }
+        return bestCell;
+    }
+
+    // ===== HEAP =====
+    // Binary min-heap of (distance << 32 | cell); improved cells are pushed again and
+    // their outdated entries skipped when popped.
+
+    private void push(int d, int cell) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        long entry = ((long) d << 32) | cell;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (heap[parent] <= entry) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) {
+            heap[i] = last;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,290 @@
+package UI.Battle;
+
+import EntityRes.DiceSpec;
+import Objects.Enemy;
+import Objects.Entity;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suggests an enemy roster from a library of templates that gives a party a target
+ * difficulty, measured by {@link BattleSimulator} as the party's win rate and the share of
+ * its health it loses. Rosters are fought on the simulator's open arena, so the answer
+ * does not depend on where anything has been placed yet.
+ *
+ * The search grows rosters one enemy at a time (a beam search). At each size only the
+ * most promising additions are simulated: they are ranked with a cheap Lanchester-style
+ * strength ratio (total damage per round times total health, per side, from
+ * {@link AttackOdds}), calibrated against the rosters simulated so far. Rosters the party
+ * already loses too often are not grown further, since more enemies only make them
+ * harder. Every simulated roster is memoised by its template counts, and each level's
+ * candidates are simulated in parallel.
+ */
+public final class EncounterBuilder {
+
+    /** Desired difficulty: party win rate, and share of party health lost (NaN to ignore). */
+    public record Target(double winRate, double healthLoss) {}
+
+    /** A suggested roster, as template -> count, with its simulated outcome. */
+    public record Suggestion(Map<Enemy, Integer> roster, BattleSimulator.Report report) {}
+
+    public static final int DEFAULT_MAX_ENEMIES = 8;
+
+    private static final int QUICK_RUNS = 200;
+    private static final int CONFIRM_RUNS = 2000;
+    private static final int BEAM_WIDTH = 6;
+    private static final int EVALS_PER_LEVEL = 24;
+    private static final int ARENA_GAP = 8;
+    private static final double WIN_TOLERANCE = 0.05;
+    private static final double HEALTH_WEIGHT = 0.5;
+    private static final double LOGIT_CLAMP = 0.02;
+    private static final double PRIOR_SLOPE = -4;   // logit(win) per unit of ln(strength ratio)
+    private static final double MIN_RATIO_VARIANCE = 0.04;
+    private static final double RATIO_WINDOW = 0.4;
+
+    private final List<BattleSnapshot.UnitState> party = new ArrayList<>();
+    private final List<Enemy> templates;
+    private final BattleSnapshot.UnitState[] templateStates;
+    private final double[] templateDamage;   // expected damage per round against the party
+    private final int[] templateHealth;
+    private final long seed;
+
+    // Roster key (template counts) -> simulated report
+    private final Map<String, BattleSimulator.Report> memo = new ConcurrentHashMap<>();
+
+    // Calibration of win rate against ln(strength ratio): logit(win) ~ a + b * ln(ratio)
+    private final List<double[]> samples = new ArrayList<>();
+
+    public EncounterBuilder(List<Entity> partyMembers, List<Enemy> templates, long seed) {
+        for (Entity e : partyMembers) {
+            if (!e.isDead()) {
+                party.add(BattleSnapshot.captureEntity(e));
+            }
+        }
+        this.templates = List.copyOf(templates);
+        this.seed = seed;
+        int n = this.templates.size();
+        templateStates = new BattleSnapshot.UnitState[n];
+        templateDamage = new double[n];
+        templateHealth = new int[n];
+        int partyAC = (int) Math.round(party.stream().mapToInt(BattleSnapshot.UnitState::armorClass).average().orElse(10));
+        for (int i = 0; i < n; i++) {
+            Enemy t = this.templates.get(i);
+            // Templates are fought at full health, whatever state they were saved in
+            BattleSnapshot.UnitState u = BattleSnapshot.captureEnemy(t);
+            templateStates[i] = new BattleSnapshot.UnitState(t, u.name(), true, 0, 0, u.maxHealth(),
+                u.maxHealth(), u.armorClass(), u.attackModifier(), u.movement(), u.damageDice());
+            templateDamage[i] = AttackOdds.of(t.getDamageSpecs(), t.getAttackModifier(), partyAC).getExpectedDamage();
+            templateHealth[i] = t.getMaxHealth();
+        }
+    }
+
+    /** Every enemy template saved in the library. */
+    public static List<Enemy> loadTemplates() {
+        List<Enemy> result = new ArrayList<>();
+        for (String name : Enemy.listSavedEnemies()) {
+            Enemy template = Enemy.load(name);
+            if (template != null && template.getMaxHealth() > 0) {
+                result.add(template);
+            }
+        }
+        return result;
+    }
+
+    /** Search for the roster of at most {@code maxEnemies} closest to the target; null if there is nothing to search. */
+    public Suggestion suggest(Target target, int maxEnemies) {
+        if (party.isEmpty() || templates.isEmpty()) return null;
+        List<int[]> beam = List.of(new int[templates.size()]);
+        List<int[]> finalists = new ArrayList<>();
+        for (int size = 1; size <= maxEnemies && !beam.isEmpty(); size++) {
+            // Every roster one enemy larger than a beam roster, without repeats
+            Map<String, int[]> candidates = new LinkedHashMap<>();
+            for (int[] roster : beam) {
+                for (int t = 0; t < templates.size(); t++) {
+                    int[] grown = roster.clone();
+                    grown[t]++;
+                    candidates.putIfAbsent(key(grown), grown);
+                }
+            }
+            List<int[]> chosen = spreadAround(candidates.values(), predictedRatio(target.winRate()));
+
+            chosen.parallelStream().forEach(r -> evaluate(r, QUICK_RUNS));
+            for (int[] r : chosen) {
+                BattleSimulator.Report report = memo.get(key(r));
+                samples.add(new double[]{Math.log(strengthRatio(r)), report.partyWinRate()});
+            }
+
+            List<int[]> next = new ArrayList<>();
+            for (int[] r : chosen) {
+                finalists.add(r);
+                // Pruned: already too hard, and adding enemies only makes it harder
+                if (memo.get(key(r)).partyWinRate() >= target.winRate() - WIN_TOLERANCE) {
+                    next.add(r);
+                }
+            }
+            next.sort(Comparator.comparingDouble(r -> score(memo.get(key(r)), target)));
+            beam = next.subList(0, Math.min(BEAM_WIDTH, next.size()));
+            if (!beam.isEmpty() && score(memo.get(key(beam.get(0))), target) < WIN_TOLERANCE / 2) {
+                break; // close enough; larger rosters would only be tie-breakers
+            }
+        }
+
+        // Re-run the best few with more runs before choosing
+        finalists.sort(Comparator.comparingDouble(r -> score(memo.get(key(r)), target)));
+        List<int[]> top = finalists.subList(0, Math.min(3, finalists.size()));
+        Map<int[], BattleSimulator.Report> confirmed = new ConcurrentHashMap<>();
+        top.parallelStream().forEach(r -> confirmed.put(r, simulate(r, CONFIRM_RUNS)));
+        int[] best = top.stream().min(Comparator.comparingDouble(r -> score(confirmed.get(r), target))).orElseThrow();
+
+        Map<Enemy, Integer> roster = new LinkedHashMap<>();
+        for (int t = 0; t < best.length; t++) {
+            if (best[t] > 0) roster.put(templates.get(t), best[t]);
+        }
+        return new Suggestion(roster, confirmed.get(best));
+    }
+
+    /**
+     * Candidates spread evenly over a window of estimated strength ratios around the wanted
+     * one, so the simulated results bracket the target and keep the calibration honest.
+     */
+    private List<int[]> spreadAround(Iterable<int[]> candidates, double wanted) {
+        List<int[]> sorted = new ArrayList<>();
+        List<Double> xs = new ArrayList<>();
+        for (int[] r : candidates) {
+            sorted.add(r);
+        }
+        Map<int[], Double> logRatio = new IdentityHashMap<>();
+        for (int[] r : sorted) {
+            logRatio.put(r, Math.log(strengthRatio(r)));
+        }
+        sorted.sort(Comparator.comparingDouble(logRatio::get));
+        for (int[] r : sorted) {
+            xs.add(logRatio.get(r));
+        }
+        if (sorted.size() <= EVALS_PER_LEVEL) return sorted;
+
+        boolean[] used = new boolean[sorted.size()];
+        List<int[]> chosen = new ArrayList<>(EVALS_PER_LEVEL);
+        for (int k = 0; k < EVALS_PER_LEVEL; k++) {
+            double point = wanted - RATIO_WINDOW + 2 * RATIO_WINDOW * k / (EVALS_PER_LEVEL - 1);
+            int at = Collections.binarySearch(xs, point);
+            if (at < 0) at = Math.min(sorted.size() - 1, -at - 1);
+            // Nearest unused candidate on either side
+            int lo = at, hi = at;
+            while (lo >= 0 && used[lo]) lo--;
+            while (hi < sorted.size() && used[hi]) hi++;
+            int pick = lo < 0 ? hi : hi >= sorted.size() ? lo
+                : Math.abs(xs.get(lo) - point) <= Math.abs(xs.get(hi) - point) ? lo : hi;
+            used[pick] = true;
+            chosen.add(sorted.get(pick));
+        }
+        return chosen;
+    }
+
+    private static double score(BattleSimulator.Report report, Target target) {
+        double s = Math.abs(report.partyWinRate() - target.winRate());
+        if (!Double.isNaN(target.healthLoss())) {
+            s += HEALTH_WEIGHT * Math.abs(report.partyHealthLoss() - target.healthLoss());
+        }
+        return s;
+    }
+
+    private void evaluate(int[] roster, int runs) {
+        String key = key(roster);
+        if (!memo.containsKey(key)) {
+            memo.putIfAbsent(key, simulate(roster, runs));
+        }
+    }
+
+    private BattleSimulator.Report simulate(int[] roster, int runs) {
+        List<BattleSnapshot.UnitState> foes = new ArrayList<>();
+        for (int t = 0; t < roster.length; t++) {
+            for (int k = 0; k < roster[t]; k++) {
+                foes.add(templateStates[t]);
+            }
+        }
+        return BattleSimulator.arena(party, foes, ARENA_GAP).run(runs, seed);
+    }
+
+    private static String key(int[] roster) {
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < roster.length; t++) {
+            if (roster[t] > 0) sb.append(t).append('x').append(roster[t]).append(',');
+        }
+        return sb.toString();
+    }
+
+    // ===== STRENGTH ESTIMATE =====
+
+    /** Enemy strength over party strength, each side's damage per round times its health. */
+    private double strengthRatio(int[] roster) {
+        double enemyDamage = 0;
+        long enemyHealth = 0;
+        long acSum = 0;
+        int count = 0;
+        for (int t = 0; t < roster.length; t++) {
+            if (roster[t] == 0) continue;
+            enemyDamage += roster[t] * templateDamage[t];
+            enemyHealth += (long) roster[t] * templateHealth[t];
+            acSum += (long) roster[t] * templateStates[t].armorClass();
+            count += roster[t];
+        }
+        int enemyAC = count == 0 ? 10 : (int) Math.round((double) acSum / count);
+        double partyDamage = 0;
+        long partyHealth = 0;
+        for (BattleSnapshot.UnitState u : party) {
+            partyDamage += AttackOdds.of(u.damageDice().toArray(new DiceSpec[0]), u.attackModifier(), enemyAC)
+                .getExpectedDamage();
+            partyHealth += u.health();
+        }
+        double ratio = (enemyDamage * enemyHealth) / Math.max(1e-9, partyDamage * partyHealth);
+        return Math.max(1e-9, ratio);
+    }
+
+    /**
+     * ln(strength ratio) expected to give this win rate, from a least-squares fit of
+     * logit(win) on ln(ratio) over the samples that are not all wins or all losses. With
+     * too few of those, the intercept is fitted under a fixed slope instead.
+     */
+    private double predictedRatio(double winRate) {
+        if (samples.isEmpty()) {
+            return 0; // uncalibrated: aim for an even fight
+        }
+        double n = 0, sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (double[] sample : samples) {
+            if (sample[1] <= LOGIT_CLAMP || sample[1] >= 1 - LOGIT_CLAMP) continue;
+            double y = logit(sample[1]);
+            n++;
+            sx += sample[0];
+            sy += y;
+            sxx += sample[0] * sample[0];
+            sxy += sample[0] * y;
+        }
+        // Only trust a fitted slope once the samples are spread out along the ratio axis
+        double denominator = n * sxx - sx * sx;
+        double b = n >= 3 && denominator / (n * n) > MIN_RATIO_VARIANCE ? (n * sxy - sx * sy) / denominator : 0;
+        double a;
+        if (b < -0.1) {
+            a = (sy - b * sx) / n;
+        } else {
+            b = PRIOR_SLOPE;
+            a = 0;
+            for (double[] sample : samples) {
+                a += logit(sample[1]) - b * sample[0];
+            }
+            a /= samples.size();
+        }
+        return (logit(winRate) - a) / b;
+    }
+
+    private static double logit(double p) {
+        p = Math.min(1 - LOGIT_CLAMP, Math.max(LOGIT_CLAMP, p));
+        return Math.log(p / (1 - p));
+    }
+}
@@ -0,0 +1,155 @@
+package UI.Battle;
+
+import Objects.GridObject;
+import java.util.Arrays;
+
+/**
+ * Picks an enemy's move and attack for its turn by scoring every tile it can walk to.
+ *
+ * A tile's utility is what the enemy could do from it (the best attack on an adjacent
+ * foe: expected damage plus a bonus for the chance of a kill, from {@link AttackOdds})
+ * minus how exposed it would stand there (expected damage from every foe that could walk
+ * up and strike it next turn) and minus how far it would still be from an attack position
+ * on the nearest foe. Tiles are tried nearest-to-the-foe first, so when the time budget
+ * runs out the best plan so far is a good one.
+ *
+ * Nothing is searched here: the tiles and their walking costs come from the grid's cached
+ * {@link MovementRange} for the unit, and the distance to the nearest foe from the shared
+ * {@link DistanceField} the model captured, so both measures charge the same climb costs.
+ * Scratch space is sized to the unit's movement window, never the board, and the budget
+ * is checked while the candidate tiles are gathered as well as while they are scored.
+ *
+ * Planning reads only an immutable {@link CombatModel} and range, so it runs on a worker
+ * thread while the FX thread keeps drawing; the plan is applied by the canvas afterwards.
+ */
+public final class EnemyPlanner {
+
+    /** Hard limit on planning one enemy's turn. */
+    public static final long TURN_BUDGET_NANOS = 40_000_000L;
+
+    private static final double W_DAMAGE = 1.0;     // per expected point of damage dealt
+    private static final double W_KILL = 8.0;       // per unit of kill chance
+    private static final double W_EXPOSURE = 0.5;   // per expected point of damage taken next turn
+    private static final double W_DISTANCE = 0.25;  // per step still to walk to an attack position
+    private static final double W_WALK = 0.01;      // per movement point spent, to break ties
+
+    /**
+     * A planned turn: walk to (row, col), which may be where the unit already stands, then
+     * attack {@code target} if it is not null. {@code complete} is false when the budget
+     * ran out before every reachable tile was scored.
+     */
+    public record Plan(GridObject unit, int row, int col, GridObject target, double score, boolean complete) {}
+
+    private final CombatModel model;
+    private final int actor;
+    private final MovementRange range;
+
+    private EnemyPlanner(CombatModel model, int actor, MovementRange range) {
+        this.model = model;
+        this.actor = actor;
+        this.range = range;
+    }
+
+    /**
+     * Plan the turn of {@code unit}, which must be one of the model's living units; null if
+     * it is not. {@code range} is the unit's {@link BattleGrid#getMovementRange}, taken on
+     * the FX thread together with the model. Returns within roughly {@code budgetNanos}.
+     */
+    public static Plan plan(CombatModel model, GridObject unit, MovementRange range, long budgetNanos) {
+        int actor = model.indexOf(unit);
+        if (actor < 0) return null;
+        return new EnemyPlanner(model, actor, range).plan(System.nanoTime() + budgetNanos);
+    }
+
+    private Plan plan(long deadline) {
+        int cols = model.cols;
+        int start = model.position[actor];
+        boolean complete = true;
+
+        // Tiles the actor can end on, its own first, then the movement window row by row:
+        // key = distance to the nearest foe << 32 | cell
+        long[] order = new long[range.reachableCount() + 1];
+        int count = 0;
+        order[count++] = key(start);
+        if (range.getOriginRow() == start / cols && range.getOriginCol() == start % cols) {
+            int lastRow = Math.min(model.rows - 1, range.getMaxRow());
+            int lastCol = Math.min(cols - 1, range.getMaxCol());
+            for (int r = Math.max(0, range.getMinRow()); r <= lastRow; r++) {
+                if (System.nanoTime() > deadline) {
+                    complete = false;
+                    break;
+                }
+                for (int c = Math.max(0, range.getMinCol()); c <= lastCol; c++) {
+                    if (range.contains(r, c)) {
+                        order[count++] = key(r * cols + c);
+                    }
+                }
+            }
+        }
+        Arrays.sort(order, 0, count);
+
+        int bestCell = start;
+        int bestTarget = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && System.nanoTime() > deadline) {
+                complete = false;
+                break;
+            }
+            int cell = (int) order[i];
+            int toFoe = (int) (order[i] >>> 32);
+            int target = bestAttackFrom(cell);
+            double score = attackValue(target)
+                - W_EXPOSURE * exposure(cell)
+                - W_DISTANCE * Math.max(0, toFoe - 1)
+                - W_WALK * Math.max(0, range.costTo(cell / cols, cell % cols));
+            if (score > bestScore) {
+                bestScore = score;
+                bestCell = cell;
+                bestTarget = target;
+            }
+        }
+        return new Plan(model.source[actor], bestCell / model.cols, bestCell % model.cols,
+            bestTarget < 0 ? null : model.source[bestTarget], bestScore, complete);
+    }
+
+    /** Sort key putting tiles nearer a foe first; cells with no route to one sort last. */
+    private long key(int cell) {
+        return ((long) model.foeDistance(actor, cell) << 32) | cell;
+    }
+
+    /** Expected damage plus kill bonus for attacking this foe; 0 for no attack. */
+    private double attackValue(int target) {
+        if (target < 0) return 0;
+        AttackOdds odds = model.odds(actor, target);
+        int health = model.health[target];
+        return W_DAMAGE * Math.min(odds.getExpectedDamage(), health) + W_KILL * odds.getKillChance(health);
+    }
+
+    /** The adjacent foe worth attacking most from this tile, or -1. */
+    private int bestAttackFrom(int cell) {
+        int best = -1;
+        double bestValue = 0;
+        for (int i = 0; i < model.unitCount; i++) {
+            if (model.enemy[i] == model.enemy[actor] || model.manhattan(cell, model.position[i]) != 1) continue;
+            double value = attackValue(i);
+            if (best < 0 || value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /** Expected damage from every foe that could reach a tile next to this one next turn. */
+    private double exposure(int cell) {
+        double expected = 0;
+        for (int i = 0; i < model.unitCount; i++) {
+            if (model.enemy[i] == model.enemy[actor]) continue;
+            if (model.manhattan(cell, model.position[i]) <= model.movement[i] + 1) {
+                expected += model.odds(i, actor).getExpectedDamage();
+            }
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,242 @@
+package UI.Battle;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Line of sight for a {@link BattleGrid}, by symmetric shadowcasting: each of the four
+ * quadrants around the viewer is scanned row by row, narrowing the lit slope range as
+ * walls are met. On flat ground sight is symmetric - if A sees B, B sees A - and walls
+ * themselves are visible while what is behind them is not.
+ *
+ * A tile blocks sight when it holds standing terrain that blocks movement, or when it is
+ * higher than the viewer's own tile: high ground looks over lower ridges, while a cliff
+ * face hides what is above and behind it. Units never block sight.
+ *
+ * Each origin's visible set is cached as a bitset, together with the rectangle it spans
+ * (least recently used are dropped past {@link #MAX_CACHED}). A board change at a tile
+ * only evicts origins that could see that tile or its neighbours, since any other
+ * origin's view does not pass near it.
+ */
+public final class FieldOfView {
+
+    public static final int MAX_CACHED = 64;
+
+    // Quadrant transforms: (depth, col) -> (row offset, col offset); north, south, east, west
+    private static final int[][] QUADRANTS = {{-1, 0, 0, 1}, {1, 0, 0, 1}, {0, 1, 1, 0}, {0, -1, 1, 0}};
+
+    private final BattleGrid grid;
+    private final int cols;
+    private final Map<Integer, View> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, View> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    // Per-scan state, valid during a scan. A bounded scan marks a (2 * radius + 1)-square
+    // window instead of the whole board and stops at that depth.
+    private BitSet visible;
+    private int minRow;
+    private int minCol;
+    private int maxRow;
+    private int maxCol;
+    private int originRow;
+    private int originCol;
+    private int originElevation;
+    private int[] quadrant;
+    private int maxDepth;
+    private int radius;
+    private int windowRow;
+    private int windowCol;
+    private int windowSpan;
+
+    /** A cached visible set and the inclusive rectangle its tiles span. */
+    private record View(BitSet cells, int minRow, int minCol, int maxRow, int maxCol) {
+        boolean near(int r, int c) {
+            return r >= minRow - 1 && r <= maxRow + 1 && c >= minCol - 1 && c <= maxCol + 1;
+        }
+    }
+
+    public FieldOfView(BattleGrid grid) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+    }
+
+    /** Whether a unit standing on the origin tile can see the target tile. */
+    public boolean canSee(int fromRow, int fromCol, int toRow, int toCol) {
+        if (!grid.inBounds(fromRow, fromCol) || !grid.inBounds(toRow, toCol)) {
+            return false;
+        }
+        return visibleFrom(fromRow, fromCol).get(toRow * cols + toCol);
+    }
+
+    /** Every tile visible from the origin, as packed cells (row * cols + col); do not modify. */
+    public BitSet visibleFrom(int row, int col) {
+        return view(row, col).cells();
+    }
+
+    /**
+     * The smallest rectangle holding every tile visible from the origin, as
+     * {minRow, minCol, maxRow, maxCol}; anything the origin can see lies inside it.
+     */
+    public int[] visibleBounds(int row, int col) {
+        View view = view(row, col);
+        return new int[] {view.minRow(), view.minCol(), view.maxRow(), view.maxCol()};
+    }
+
+    private View view(int row, int col) {
+        int key = row * cols + col;
+        View result = cache.get(key);
+        if (result == null) {
+            result = compute(row, col);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Tiles visible from the origin within a Euclidean sight radius, as packed cells. Not
+     * cached; the scan stops at the radius, so the cost follows the radius, not the board.
+     */
+    public int[] visibleWithin(int row, int col, int radius) {
+        this.radius = radius;
+        windowRow = row - radius;
+        windowCol = col - radius;
+        windowSpan = 2 * radius + 1;
+        runScan(row, col, new BitSet(windowSpan * windowSpan), radius);
+        BitSet window = visible;
+        visible = null;
+        int[] cells = new int[window.cardinality()];
+        int n = 0;
+        for (int i = window.nextSetBit(0); i >= 0; i = window.nextSetBit(i + 1)) {
+            cells[n++] = (windowRow + i / windowSpan) * cols + (windowCol + i % windowSpan);
+        }
+        windowSpan = 0;
+        return cells;
+    }
+
+    /** A tile's terrain or elevation changed: drop every cached view that reached near it. */
+    public void invalidateAround(int r, int c) {
+        Iterator<View> it = cache.values().iterator();
+        while (it.hasNext()) {
+            View view = it.next();
+            if (view.near(r, c) && touches(view.cells(), r, c)) {
+                it.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private boolean touches(BitSet view, int r, int c) {
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (grid.inBounds(r + dr, c + dc) && view.get((r + dr) * cols + c + dc)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ===== SHADOWCASTING =====
+
+    private View compute(int row, int col) {
+        minRow = maxRow = row;
+        minCol = maxCol = col;
+        runScan(row, col, new BitSet(grid.getRows() * cols), Integer.MAX_VALUE);
+        View result = new View(visible, minRow, minCol, maxRow, maxCol);
+        visible = null;
+        return result;
+    }
+
+    private void runScan(int row, int col, BitSet into, int depthLimit) {
+        visible = into;
+        originRow = row;
+        originCol = col;
+        originElevation = grid.getElevation(row, col);
+        maxDepth = depthLimit;
+        mark(row, col);
+        for (int[] q : QUADRANTS) {
+            quadrant = q;
+            scan(1, -1, 1, 1, 1);
+        }
+    }
+
+    private int tileRow(int depth, int offset) {
+        return originRow + quadrant[0] * depth + quadrant[2] * offset;
+    }
+
+    private int tileCol(int depth, int offset) {
+        return originCol + quadrant[1] * depth + quadrant[3] * offset;
+    }
+
+    /** Off-board counts as a wall (and is never revealed), which also ends the scan at the edge. */
+    private boolean isWall(int depth, int offset) {
+        int r = tileRow(depth, offset);
+        int c = tileCol(depth, offset);
+        if (!grid.inBounds(r, c)) return true;
+        if (grid.getElevation(r, c) > originElevation) return true;
+        var terrain = grid.getTerrainAt(r, c);
+        return terrain != null && terrain.blocksMovement();
+    }
+
+    private void reveal(int depth, int offset) {
+        mark(tileRow(depth, offset), tileCol(depth, offset));
+    }
+
+    private void mark(int r, int c) {
+        if (!grid.inBounds(r, c)) return;
+        if (windowSpan == 0) {
+            visible.set(r * cols + c);
+            minRow = Math.min(minRow, r);
+            maxRow = Math.max(maxRow, r);
+            minCol = Math.min(minCol, c);
+            maxCol = Math.max(maxCol, c);
+            return;
+        }
+        int dr = r - originRow;
+        int dc = c - originCol;
+        if (dr * dr + dc * dc <= radius * radius) {
+            visible.set((r - windowRow) * windowSpan + (c - windowCol));
+        }
+    }
+
+    /**
+     * Scan one row at the given depth between slopes startNum/startDen and endNum/endDen
+     * (exact fractions, so there is no rounding drift at long range), recursing into the
+     * next row for every lit stretch.
+     */
+    private void scan(int depth, long startNum, long startDen, long endNum, long endDen) {
+        if (depth > maxDepth) return;
+        long minCol = Math.floorDiv(2L * depth * startNum + startDen, 2 * startDen);  // round ties up
+        long maxCol = -Math.floorDiv(-(2L * depth * endNum - endDen), 2 * endDen);    // round ties down
+        Boolean prevWall = null;
+        for (long col = minCol; col <= maxCol; col++) {
+            int offset = (int) col;
+            boolean wall = isWall(depth, offset);
+            boolean symmetric = col * startDen >= depth * startNum && col * endDen <= depth * endNum;
+            if (wall || symmetric) {
+                reveal(depth, offset);
+            }
+            if (prevWall != null && prevWall && !wall) {
+                // Leaving a wall: the lit range now starts at this tile's near edge
+                startNum = 2 * col - 1;
+                startDen = 2L * depth;
+            }
+            if (prevWall != null && !prevWall && wall) {
+                // Entering a wall: the stretch so far continues into the next row
+                scan(depth + 1, startNum, startDen, 2 * col - 1, 2L * depth);
+            }
+            prevWall = wall;
+        }
+        if (prevWall != null && !prevWall) {
+            scan(depth + 1, startNum, startDen, endNum, endDen);
+        }
+    }
+}
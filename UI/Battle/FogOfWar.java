@@ -0,0 +1,102 @@
+package UI.Battle;
+
+import Objects.GridObject;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one side can currently see, and has ever seen, on a {@link BattleGrid}. Each
+ * unit sees out to {@link #SIGHT_RADIUS} tiles through {@link FieldOfView}; the side's
+ * view is the union of its units' views.
+ *
+ * The union is kept as a per-cell count of how many of the side's units see the cell,
+ * so when one unit moves only that unit's view is recomputed: its old tiles are counted
+ * down, its new ones counted up, and a cell changes visibility only when its count
+ * crosses zero. Explored cells are never forgotten.
+ */
+public final class FogOfWar {
+
+    public static final int SIGHT_RADIUS = 10;
+
+    private final BattleGrid grid;
+    private final int[] seenBy;
+    private final BitSet visible;
+    private final BitSet explored;
+    private final Map<GridObject, int[]> views = new IdentityHashMap<>();
+
+    // Bumped whenever any cell's visible/explored state changes, for cached overlays
+    private int version;
+
+    FogOfWar(BattleGrid grid) {
+        this.grid = grid;
+        int cells = grid.getRows() * grid.getCols();
+        this.seenBy = new int[cells];
+        this.visible = new BitSet(cells);
+        this.explored = new BitSet(cells);
+    }
+
+    /** Recompute every unit's view, e.g. after walls changed; explored cells are kept. */
+    void rebuild(List<? extends GridObject> units) {
+        for (int[] view : views.values()) {
+            for (int cell : view) {
+                seenBy[cell]--;
+            }
+        }
+        views.clear();
+        visible.clear();
+        for (GridObject unit : units) {
+            addView(unit);
+        }
+        version++;
+    }
+
+    /** The unit appeared or moved: swap its old view for one from its current tile. */
+    void updateUnit(GridObject unit) {
+        dropView(unit);
+        addView(unit);
+        version++;
+    }
+
+    void removeUnit(GridObject unit) {
+        if (dropView(unit)) {
+            version++;
+        }
+    }
+
+    private void addView(GridObject unit) {
+        if (!grid.inBounds(unit.getRow(), unit.getCol())) return;
+        int[] view = grid.visibleWithin(unit.getRow(), unit.getCol(), SIGHT_RADIUS);
+        for (int cell : view) {
+            if (seenBy[cell]++ == 0) {
+                visible.set(cell);
+                explored.set(cell);
+            }
+        }
+        views.put(unit, view);
+    }
+
+    private boolean dropView(GridObject unit) {
+        int[] view = views.remove(unit);
+        if (view == null) return false;
+        for (int cell : view) {
+            if (--seenBy[cell] == 0) {
+                visible.clear(cell);
+            }
+        }
+        return true;
+    }
+
+    public boolean isVisible(int r, int c) {
+        return grid.inBounds(r, c) && visible.get(r * grid.getCols() + c);
+    }
+
+    public boolean isExplored(int r, int c) {
+        return grid.inBounds(r, c) && explored.get(r * grid.getCols() + c);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+}
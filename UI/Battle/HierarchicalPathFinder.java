@@ -0,0 +1,562 @@
+package UI.Battle;
+
+import java.util.Arrays;
+
+/**
+ * HPA*-style router for long trips across big boards. The board is cut into
+ * {@value #CLUSTER_SIZE}x{@value #CLUSTER_SIZE} clusters; where two neighbouring clusters
+ * share a run of walkable edge cells, an entrance (a crossing cell pair) is placed
+ * mid-run, or at both ends of long runs. Each cluster precomputes the walking cost
+ * between its own entrance cells, giving a small abstract graph.
+ *
+ * A query links the start and goal into their clusters with one local search each,
+ * runs A* over the abstract graph, then refines every abstract hop into tiles with a
+ * cluster-sized local search. Expansions track the number of entrances crossed, not the
+ * number of tiles.
+ *
+ * Routes use static walkability ({@link BattleGrid#isWalkable}) and the same step cost
+ * as {@link MovementRange}; units are ignored, since they will have moved by the time a
+ * long route is walked. Clusters are rebuilt lazily: a terrain, shape or elevation change
+ * only marks its own cluster (and, on a cluster edge, the neighbour across it) stale.
+ *
+ * The abstract search keys its state by cell in flat arrays with a generation stamp,
+ * like {@link PathFinder}, and both it and the local searches keep their open sets in
+ * heaps of packed longs. Entrances, crossings and the refined route are collected in
+ * plain int arrays, so neither a query nor a cluster rebuild boxes or hashes a cell.
+ */
+public final class HierarchicalPathFinder {
+
+    public static final int CLUSTER_SIZE = 16;
+
+    // Edge runs at least this long get an entrance at each end instead of one in the middle
+    private static final int LONG_RUN = 6;
+
+    private static final int NONE = -1;
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final BattleGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int clusterRows;
+    private final int clusterCols;
+
+    // Entrance cell pairs {own side, neighbour side, ...} on each cluster's east and south edge
+    private final int[][] eastEntrances;
+    private final int[][] southEntrances;
+    private final boolean[] eastDirty;
+    private final boolean[] southDirty;
+
+    private final Cluster[] clusters;
+    private final boolean[] clusterDirty;
+
+    // Abstract search state, indexed by cell; the two extra slots are the start/goal pseudo-nodes
+    private final int startNode;
+    private final int goalNode;
+    private final int[] best;
+    private final int[] cameFrom;
+    private final int[] stamp;
+    private int generation;
+    private long[] open = new long[256];
+    private int openSize;
+
+    private final LocalSearch startSearch = new LocalSearch();
+    private final LocalSearch goalSearch = new LocalSearch();
+    private final LocalSearch hopSearch = new LocalSearch();
+
+    // Tiles of the route being refined
+    private int[] route = new int[64];
+    private int routeLength;
+
+    /** One cluster's entrance cells, their crossings and the cost matrix between them. */
+    private static final class Cluster {
+        final int[] nodeCells;
+        final int[][] partners;   // per node: cells across the edge it connects to
+        final int[] costs;        // costs[from * k + to], -1 when unreachable inside the cluster
+
+        Cluster(int[] nodeCells, int[][] partners, int[] costs) {
+            this.nodeCells = nodeCells;
+            this.partners = partners;
+            this.costs = costs;
+        }
+
+        /** Node index of an entrance cell, or -1; clusters hold a handful of entrances. */
+        int indexOf(int cell) {
+            for (int i = 0; i < nodeCells.length; i++) {
+                if (nodeCells[i] == cell) return i;
+            }
+            return -1;
+        }
+    }
+
+    public HierarchicalPathFinder(BattleGrid grid) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.clusterRows = (rows + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        this.clusterCols = (cols + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        int count = clusterRows * clusterCols;
+        this.eastEntrances = new int[count][];
+        this.southEntrances = new int[count][];
+        this.eastDirty = new boolean[count];
+        this.southDirty = new boolean[count];
+        this.clusters = new Cluster[count];
+        this.clusterDirty = new boolean[count];
+        Arrays.fill(eastDirty, true);
+        Arrays.fill(southDirty, true);
+        Arrays.fill(clusterDirty, true);
+        this.startNode = rows * cols;
+        this.goalNode = rows * cols + 1;
+        this.best = new int[rows * cols + 2];
+        this.cameFrom = new int[rows * cols + 2];
+        this.stamp = new int[rows * cols + 2];
+    }
+
+    private int clusterOf(int r, int c) {
+        return (r / CLUSTER_SIZE) * clusterCols + (c / CLUSTER_SIZE);
+    }
+
+    /**
+     * A cell's walkability or elevation changed: its cluster's costs are stale, and if it
+     * sits on the cluster's rim the entrances on that edge and the cluster across it are too.
+     */
+    public void markDirty(int r, int c) {
+        int cr = r / CLUSTER_SIZE;
+        int cc = c / CLUSTER_SIZE;
+        int id = cr * clusterCols + cc;
+        clusterDirty[id] = true;
+        int lr = r % CLUSTER_SIZE;
+        int lc = c % CLUSTER_SIZE;
+        if (lr == 0 && cr > 0) {
+            southDirty[id - clusterCols] = true;
+            clusterDirty[id - clusterCols] = true;
+        }
+        if (lr == CLUSTER_SIZE - 1 && cr + 1 < clusterRows) {
+            southDirty[id] = true;
+            clusterDirty[id + clusterCols] = true;
+        }
+        if (lc == 0 && cc > 0) {
+            eastDirty[id - 1] = true;
+            clusterDirty[id - 1] = true;
+        }
+        if (lc == CLUSTER_SIZE - 1 && cc + 1 < clusterCols) {
+            eastDirty[id] = true;
+            clusterDirty[id + 1] = true;
+        }
+    }
+
+    // ===== ABSTRACT GRAPH =====
+
+    private int[] eastEntrances(int id) {
+        if (eastDirty[id]) {
+            int cr = id / clusterCols;
+            int cc = id % clusterCols;
+            int c = (cc + 1) * CLUSTER_SIZE - 1;
+            eastEntrances[id] = c + 1 < cols
+                ? scanEdge(cr * CLUSTER_SIZE, c, 1, 0, 0, 1, Math.min(CLUSTER_SIZE, rows - cr * CLUSTER_SIZE))
+                : new int[0];
+            eastDirty[id] = false;
+        }
+        return eastEntrances[id];
+    }
+
+    private int[] southEntrances(int id) {
+        if (southDirty[id]) {
+            int cr = id / clusterCols;
+            int cc = id % clusterCols;
+            int r = (cr + 1) * CLUSTER_SIZE - 1;
+            southEntrances[id] = r + 1 < rows
+                ? scanEdge(r, cc * CLUSTER_SIZE, 0, 1, 1, 0, Math.min(CLUSTER_SIZE, cols - cc * CLUSTER_SIZE))
+                : new int[0];
+            southDirty[id] = false;
+        }
+        return southEntrances[id];
+    }
+
+    /**
+     * Walk an edge from (r, c) in steps of (stepR, stepC); the cell across the edge is
+     * offset by (acrossR, acrossC). Returns entrance pairs for every run where both sides
+     * are walkable.
+     */
+    private int[] scanEdge(int r, int c, int stepR, int stepC, int acrossR, int acrossC, int length) {
+        // At most one run per two cells, each giving up to two entrances of two cells
+        int[] pairs = new int[2 * length + 4];
+        int count = 0;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean passable = i < length
+                && grid.isWalkable(r + i * stepR, c + i * stepC)
+                && grid.isWalkable(r + i * stepR + acrossR, c + i * stepC + acrossC);
+            if (passable && runStart < 0) {
+                runStart = i;
+            } else if (!passable && runStart >= 0) {
+                int runEnd = i - 1;
+                int[] picks = runEnd - runStart + 1 >= LONG_RUN
+                    ? new int[]{runStart, runEnd}
+                    : new int[]{(runStart + runEnd) / 2};
+                for (int p : picks) {
+                    int pr = r + p * stepR;
+                    int pc = c + p * stepC;
+                    pairs[count++] = pr * cols + pc;
+                    pairs[count++] = (pr + acrossR) * cols + (pc + acrossC);
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    private Cluster cluster(int id) {
+        if (!clusterDirty[id]) {
+            return clusters[id];
+        }
+        int cr = id / clusterCols;
+        int cc = id % clusterCols;
+        // Own cell is at even offsets on our east/south edges, odd offsets on the
+        // west/north neighbour's edges
+        int[] east = eastEntrances(id);
+        int[] south = southEntrances(id);
+        int[] west = cc > 0 ? eastEntrances(id - 1) : new int[0];
+        int[] north = cr > 0 ? southEntrances(id - clusterCols) : new int[0];
+        int total = (east.length + south.length + west.length + north.length) / 2;
+        int[] own = new int[total];
+        int[] across = new int[total];
+        int n = 0;
+        n = addCrossings(own, across, n, east, 0);
+        n = addCrossings(own, across, n, south, 0);
+        n = addCrossings(own, across, n, west, 1);
+        addCrossings(own, across, n, north, 1);
+
+        // A corner cell can own crossings on two edges: one node, several partners
+        int[] nodeCells = new int[total];
+        int k = 0;
+        for (int i = 0; i < total; i++) {
+            if (!contains(nodeCells, k, own[i])) {
+                nodeCells[k++] = own[i];
+            }
+        }
+        nodeCells = Arrays.copyOf(nodeCells, k);
+        int[][] partners = new int[k][];
+        for (int i = 0; i < k; i++) {
+            int found = 0;
+            for (int j = 0; j < total; j++) {
+                if (own[j] == nodeCells[i]) found++;
+            }
+            partners[i] = new int[found];
+            found = 0;
+            for (int j = 0; j < total; j++) {
+                if (own[j] == nodeCells[i]) partners[i][found++] = across[j];
+            }
+        }
+        int[] costs = new int[k * k];
+        for (int from = 0; from < k; from++) {
+            hopSearch.run(id, nodeCells[from], -1, false);
+            for (int to = 0; to < k; to++) {
+                costs[from * k + to] = hopSearch.costTo(nodeCells[to]);
+            }
+        }
+        clusters[id] = new Cluster(nodeCells, partners, costs);
+        clusterDirty[id] = false;
+        return clusters[id];
+    }
+
+    /** Copy an edge's entrance pairs into (own cell, cell across) lists from index n; returns the new count. */
+    private static int addCrossings(int[] own, int[] across, int n, int[] pairs, int ownOffset) {
+        for (int p = 0; p < pairs.length; p += 2) {
+            own[n] = pairs[p + ownOffset];
+            across[n] = pairs[p + 1 - ownOffset];
+            n++;
+        }
+        return n;
+    }
+
+    private static boolean contains(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) return true;
+        }
+        return false;
+    }
+
+    // ===== QUERY =====
+
+    /**
+     * Route from start to goal as packed cells (row * cols + col), first step through
+     * goal; empty when start == goal, null when the goal cannot be reached.
+     */
+    public int[] findRoute(int startRow, int startCol, int goalRow, int goalCol) {
+        if (!grid.isWalkable(startRow, startCol) || !grid.isWalkable(goalRow, goalCol)) {
+            return null;
+        }
+        if (startRow == goalRow && startCol == goalCol) {
+            return new int[0];
+        }
+        if (!grid.isReachable(startRow, startCol, goalRow, goalCol)) {
+            return null;
+        }
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+        int startCluster = clusterOf(startRow, startCol);
+        int goalCluster = clusterOf(goalRow, goalCol);
+        // Make sure both clusters are current before the local searches borrow hopSearch
+        Cluster first = cluster(startCluster);
+        Cluster last = cluster(goalCluster);
+        startSearch.run(startCluster, start, -1, false);
+        goalSearch.run(goalCluster, goal, -1, true);
+
+        // Abstract A*: node ids are entrance cells plus the start/goal pseudo-nodes
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        openSize = 0;
+        stamp[startNode] = generation;
+        best[startNode] = 0;
+        cameFrom[startNode] = NONE;
+        push(0, startNode);
+        while (openSize > 0) {
+            long top = pop();
+            int node = (int) top;
+            int g = best[node];
+            if ((int) (top >>> 32) > g + heuristic(node, goalRow, goalCol)) continue; // stale
+            if (node == goalNode) {
+                return refine(start, goal);
+            }
+            if (node == startNode) {
+                if (startCluster == goalCluster) {
+                    relax(startNode, goalNode, startSearch.costTo(goal), 0, goalRow, goalCol);
+                }
+                for (int cell : first.nodeCells) {
+                    relax(startNode, cell, startSearch.costTo(cell), 0, goalRow, goalCol);
+                }
+                continue;
+            }
+            int r = node / cols;
+            int c = node % cols;
+            int id = clusterOf(r, c);
+            Cluster cluster = cluster(id);
+            int from = cluster.indexOf(node);
+            int k = cluster.nodeCells.length;
+            for (int to = 0; to < k; to++) {
+                if (to != from) {
+                    relax(node, cluster.nodeCells[to], cluster.costs[from * k + to], g, goalRow, goalCol);
+                }
+            }
+            for (int partner : cluster.partners[from]) {
+                int step = MovementRange.stepCost(grid, r, c, partner / cols, partner % cols);
+                relax(node, partner, step, g, goalRow, goalCol);
+            }
+            if (id == goalCluster && last.indexOf(node) >= 0) {
+                relax(node, goalNode, goalSearch.costTo(node), g, goalRow, goalCol);
+            }
+        }
+        return null;
+    }
+
+    private int heuristic(int node, int goalRow, int goalCol) {
+        if (node >= startNode) return 0;
+        return Math.abs(node / cols - goalRow) + Math.abs(node % cols - goalCol);
+    }
+
+    private void relax(int from, int to, int edgeCost, int g, int goalRow, int goalCol) {
+        if (edgeCost < 0) return;
+        int next = g + edgeCost;
+        if (stamp[to] == generation && next >= best[to]) return;
+        stamp[to] = generation;
+        best[to] = next;
+        cameFrom[to] = from;
+        push(next + heuristic(to, goalRow, goalCol), to);
+    }
+
+    // Open set: binary min-heap of (f << 32 | node); improved nodes are pushed again and
+    // their outdated entries skipped on pop
+
+    private void push(int f, int node) {
+        if (openSize == open.length) {
+            open = Arrays.copyOf(open, openSize * 2);
+        }
+        long entry = ((long) f << 32) | node;
+        int i = openSize++;
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (open[parent] <= entry) break;
+            open[i] = open[parent];
+            i = parent;
+        }
+        open[i] = entry;
+    }
+
+    private long pop() {
+        long top = open[0];
+        long last = open[--openSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= openSize) break;
+            if (child + 1 < openSize && open[child + 1] < open[child]) child++;
+            if (open[child] >= last) break;
+            open[i] = open[child];
+            i = child;
+        }
+        if (openSize > 0) {
+            open[i] = last;
+        }
+        return top;
+    }
+
+    /** Expand the abstract chain start, e1, e2, ..., goal into tiles. */
+    private int[] refine(int start, int goal) {
+        int links = 0;
+        for (int node = goalNode; node != startNode; node = cameFrom[node]) {
+            links++;
+        }
+        int[] chain = new int[links]; // e1, ..., goal pseudo-node
+        for (int node = goalNode, i = links - 1; node != startNode; node = cameFrom[node], i--) {
+            chain[i] = node;
+        }
+
+        routeLength = 0;
+        int first = chain[0] == goalNode ? goal : chain[0];
+        startSearch.appendPath(first);
+        for (int i = 0; i + 1 < links; i++) {
+            int a = chain[i];
+            int b = chain[i + 1];
+            if (b == goalNode) {
+                goalSearch.appendReversePath(a);
+            } else if (clusterOf(a / cols, a % cols) != clusterOf(b / cols, b % cols)) {
+                appendStep(b); // single step across the cluster edge
+            } else {
+                hopSearch.run(clusterOf(a / cols, a % cols), a, b, false);
+                hopSearch.appendPath(b);
+            }
+        }
+        return Arrays.copyOf(route, routeLength);
+    }
+
+    private void appendStep(int cell) {
+        if (routeLength == route.length) {
+            route = Arrays.copyOf(route, routeLength * 2);
+        }
+        route[routeLength++] = cell;
+    }
+
+    // ===== LOCAL SEARCH =====
+
+    /**
+     * Dijkstra confined to one cluster, on scratch arrays sized to a cluster. Run in
+     * reverse it measures the cost of walking *to* the source instead of from it, which is
+     * what linking the goal needs when climbing makes costs direction-dependent.
+     */
+    private final class LocalSearch {
+        private final int[] dist = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        private final int[] parent = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        private long[] frontier = new long[64];   // min-heap of (cost << 32 | cell)
+        private int frontierSize;
+        private int r0, c0, r1, c1, source;
+
+        void run(int clusterId, int sourceCell, int targetCell, boolean reverse) {
+            r0 = (clusterId / clusterCols) * CLUSTER_SIZE;
+            c0 = (clusterId % clusterCols) * CLUSTER_SIZE;
+            r1 = Math.min(rows, r0 + CLUSTER_SIZE) - 1;
+            c1 = Math.min(cols, c0 + CLUSTER_SIZE) - 1;
+            source = sourceCell;
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            frontierSize = 0;
+            dist[local(sourceCell)] = 0;
+            parent[local(sourceCell)] = -1;
+            offer(0, sourceCell);
+            while (frontierSize > 0) {
+                long top = poll();
+                int cell = (int) top;
+                int d = (int) (top >>> 32);
+                if (d > dist[local(cell)]) continue;
+                if (cell == targetCell) return;
+                int r = cell / cols;
+                int c = cell % cols;
+                for (int k = 0; k < 4; k++) {
+                    int nr = r + DR[k];
+                    int nc = c + DC[k];
+                    if (nr < r0 || nr > r1 || nc < c0 || nc > c1 || !grid.isWalkable(nr, nc)) continue;
+                    int step = reverse
+                        ? MovementRange.stepCost(grid, nr, nc, r, c)
+                        : MovementRange.stepCost(grid, r, c, nr, nc);
+                    int next = nr * cols + nc;
+                    if (d + step < dist[local(next)]) {
+                        dist[local(next)] = d + step;
+                        parent[local(next)] = cell;
+                        offer(d + step, next);
+                    }
+                }
+            }
+        }
+
+        private void offer(int d, int cell) {
+            if (frontierSize == frontier.length) {
+                frontier = Arrays.copyOf(frontier, frontierSize * 2);
+            }
+            long entry = ((long) d << 32) | cell;
+            int i = frontierSize++;
+            while (i > 0) {
+                int up = (i - 1) >> 1;
+                if (frontier[up] <= entry) break;
+                frontier[i] = frontier[up];
+                i = up;
+            }
+            frontier[i] = entry;
+        }
+
+        private long poll() {
+            long top = frontier[0];
+            long last = frontier[--frontierSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= frontierSize) break;
+                if (child + 1 < frontierSize && frontier[child + 1] < frontier[child]) child++;
+                if (frontier[child] >= last) break;
+                frontier[i] = frontier[child];
+                i = child;
+            }
+            if (frontierSize > 0) {
+                frontier[i] = last;
+            }
+            return top;
+        }
+
+        private int local(int cell) {
+            return (cell / cols - r0) * CLUSTER_SIZE + (cell % cols - c0);
+        }
+
+        private boolean inside(int cell) {
+            int r = cell / cols;
+            int c = cell % cols;
+            return r >= r0 && r <= r1 && c >= c0 && c <= c1;
+        }
+
+        int costTo(int cell) {
+            if (!inside(cell)) return -1;
+            int d = dist[local(cell)];
+            return d == Integer.MAX_VALUE ? -1 : d;
+        }
+
+        /** Append the tiles from the source (exclusive) to cell (inclusive) to the route. */
+        void appendPath(int cell) {
+            int mark = routeLength;
+            for (int at = cell; at != source; at = parent[local(at)]) {
+                appendStep(at);
+            }
+            for (int i = mark, j = routeLength - 1; i < j; i++, j--) {
+                int swap = route[i];
+                route[i] = route[j];
+                route[j] = swap;
+            }
+        }
+
+        /** For a reverse search: append the tiles from cell (exclusive) forward to the source (inclusive). */
+        void appendReversePath(int cell) {
+            for (int at = parent[local(cell)]; at != -1; at = parent[local(at)]) {
+                appendStep(at);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package UI.Battle;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The tiles a unit can reach this turn with a given movement budget, found by a bounded
+ * Dijkstra over the {@link BattleGrid}: 4-way steps that cost 1 tile plus
+ * {@link #CLIMB_COST_PER_LEVEL} for every elevation level climbed (stepping down is
+ * free), and never through a blocked cell - off-shape, blocking terrain or another unit.
+ *
+ * Only the (2 * budget + 1)-square window around the origin can ever be reached, so
+ * the search state and the result bitset are sized to that window, not the board.
+ */
+public final class MovementRange {
+
+    public static final int CLIMB_COST_PER_LEVEL = 1;
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final int originRow;
+    private final int originCol;
+    private final int budget;
+    private final int minRow;
+    private final int minCol;
+    private final int span;
+    private final BitSet reachable;
+    private final int[] cost;
+
+    private MovementRange(int originRow, int originCol, int budget) {
+        this.originRow = originRow;
+        this.originCol = originCol;
+        this.budget = budget;
+        this.minRow = originRow - budget;
+        this.minCol = originCol - budget;
+        this.span = 2 * budget + 1;
+        this.reachable = new BitSet(span * span);
+        this.cost = new int[span * span];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+    }
+
+    /** Movement cost of one step between neighbouring tiles. */
+    public static int stepCost(BattleGrid grid, int fromRow, int fromCol, int toRow, int toCol) {
+        int climb = grid.getElevation(toRow, toCol) - grid.getElevation(fromRow, fromCol);
+        return 1 + Math.max(0, climb) * CLIMB_COST_PER_LEVEL;
+    }
+
+    /**
+     * Search out from (row, col) until the budget runs out. Costs are small integers, so
+     * the frontier is a bucket queue indexed by cost rather than a heap.
+     */
+    public static MovementRange compute(BattleGrid grid, int row, int col, int budget) {
+        budget = Math.max(0, budget);
+        MovementRange range = new MovementRange(row, col, budget);
+        int window = range.span * range.span;
+
+        // Bucket queue: per cost, a singly linked list of window cells (a cell can be
+        // pushed once per improving neighbour, so 4 entries per cell is the ceiling)
+        int[] head = new int[budget + 1];
+        Arrays.fill(head, -1);
+        int[] nodeCell = new int[4 * window + 1];
+        int[] nodeNext = new int[nodeCell.length];
+        int nodes = 0;
+
+        int start = range.local(row, col);
+        range.cost[start] = 0;
+        nodeCell[nodes] = start;
+        nodeNext[nodes] = -1;
+        head[0] = nodes++;
+
+        for (int d = 0; d <= budget; d++) {
+            while (head[d] != -1) {
+                int node = head[d];
+                head[d] = nodeNext[node];
+                int cell = nodeCell[node];
+                if (range.cost[cell] != d) continue; // stale entry
+                int r = range.minRow + cell / range.span;
+                int c = range.minCol + cell % range.span;
+                if (cell != start) {
+                    range.reachable.set(cell);
+                }
+                for (int k = 0; k < 4; k++) {
+                    int nr = r + DR[k];
+                    int nc = c + DC[k];
+                    if (!range.inWindow(nr, nc) || grid.isBlocked(nr, nc)) continue;
+                    int next = d + stepCost(grid, r, c, nr, nc);
+                    int nextCell = range.local(nr, nc);
+                    if (next <= budget && next < range.cost[nextCell]) {
+                        range.cost[nextCell] = next;
+                        nodeCell[nodes] = nextCell;
+                        nodeNext[nodes] = head[next];
+                        head[next] = nodes++;
+                    }
+                }
+            }
+        }
+        return range;
+    }
+
+    private int local(int r, int c) {
+        return (r - minRow) * span + (c - minCol);
+    }
+
+    private boolean inWindow(int r, int c) {
+        return r >= minRow && r < minRow + span && c >= minCol && c < minCol + span;
+    }
+
+    /** Whether the unit can end its move on this tile (its own tile excluded). */
+    public boolean contains(int r, int c) {
+        return inWindow(r, c) && reachable.get(local(r, c));
+    }
+
+    /** Cheapest movement cost to the tile, or -1 when it is out of reach. */
+    public int costTo(int r, int c) {
+        if (!inWindow(r, c)) return -1;
+        int value = cost[local(r, c)];
+        return value == Integer.MAX_VALUE ? -1 : value;
+    }
+
+    public int reachableCount() {
+        return reachable.cardinality();
+    }
+
+    public int getOriginRow() {
+        return originRow;
+    }
+
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    /** First row of the window any reachable tile falls in (may be off the board). */
+    public int getMinRow() {
+        return minRow;
+    }
+
+    public int getMinCol() {
+        return minCol;
+    }
+
+    public int getMaxRow() {
+        return minRow + span - 1;
+    }
+
+    public int getMaxCol() {
+        return minCol + span - 1;
+    }
+}
@@ -0,0 +1,173 @@
+package UI.Battle;
+
+import java.util.Arrays;
+
+/**
+ * A* over a {@link BattleGrid} using the same step rules as {@link MovementRange}:
+ * 4-way steps costing 1 plus the climb cost, never through a blocked cell. Because
+ * movement is 4-way the heuristic is Manhattan distance, which never overestimates since
+ * every step costs at least 1.
+ *
+ * All search state lives in flat int arrays sized to the board and reused between
+ * queries. A per-cell generation stamp replaces clearing them, so a query allocates
+ * nothing but its returned path.
+ */
+public final class PathFinder {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final BattleGrid grid;
+    private final int rows;
+    private final int cols;
+
+    private final int[] gScore;
+    private final int[] fScore;
+    private final int[] cameFrom;
+    private final int[] stamp;      // gScore/cameFrom are valid for this query only when stamp == generation
+    private final int[] heapIndex;  // position in the heap, -1 once closed
+    private final int[] heap;
+    private int heapSize;
+    private int generation;
+
+    public PathFinder(BattleGrid grid) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        int n = rows * cols;
+        this.gScore = new int[n];
+        this.fScore = new int[n];
+        this.cameFrom = new int[n];
+        this.stamp = new int[n];
+        this.heapIndex = new int[n];
+        this.heap = new int[n];
+    }
+
+    /**
+     * Cheapest path from the start tile to the goal, as packed cells (row * cols + col)
+     * from the first step through the goal; empty when start == goal, null when no path
+     * exists. Cells along the way must be free; the goal only needs to be walkable, so
+     * a unit's path to the tile it already stands on can still be traced.
+     */
+    public int[] findPath(int startRow, int startCol, int goalRow, int goalCol) {
+        if (!grid.inBounds(startRow, startCol) || !grid.isWalkable(goalRow, goalCol)) {
+            return null;
+        }
+        if (startRow == goalRow && startCol == goalCol) {
+            return new int[0];
+        }
+        if (!grid.isReachable(startRow, startCol, goalRow, goalCol) && grid.isWalkable(startRow, startCol)) {
+            return null; // different walkable regions - no search can succeed
+        }
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        heapSize = 0;
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+        open(start, 0, -1, heuristic(startRow, startCol, goalRow, goalCol));
+
+        while (heapSize > 0) {
+            int cell = pop();
+            if (cell == goal) {
+                return reconstruct(start, goal);
+            }
+            int r = cell / cols;
+            int c = cell % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + DR[k];
+                int nc = c + DC[k];
+                if (!grid.inBounds(nr, nc)) continue;
+                int next = nr * cols + nc;
+                if (next != goal && grid.isBlocked(nr, nc)) continue;
+                if (stamp[next] == generation && heapIndex[next] < 0) continue; // closed
+                int tentative = gScore[cell] + MovementRange.stepCost(grid, r, c, nr, nc);
+                if (stamp[next] != generation || tentative < gScore[next]) {
+                    open(next, tentative, cell, tentative + heuristic(nr, nc, goalRow, goalCol));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int heuristic(int r, int c, int goalRow, int goalCol) {
+        return Math.abs(r - goalRow) + Math.abs(c - goalCol);
+    }
+
+    private int[] reconstruct(int start, int goal) {
+        int length = 0;
+        for (int cell = goal; cell != start; cell = cameFrom[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = goal, i = length - 1; cell != start; cell = cameFrom[cell], i--) {
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    // ===== BINARY HEAP =====
+    // Min-heap on fScore with an index per cell, so a better route found to a queued cell
+    // is a decrease-key rather than a duplicate entry. Ties prefer the larger gScore,
+    // i.e. the node already closer to the goal, which trims expansions on open ground.
+
+    private void open(int cell, int g, int from, int f) {
+        boolean queued = stamp[cell] == generation && heapIndex[cell] >= 0;
+        stamp[cell] = generation;
+        gScore[cell] = g;
+        fScore[cell] = f;
+        cameFrom[cell] = from;
+        if (queued) {
+            siftUp(heapIndex[cell]);
+        } else {
+            heap[heapSize] = cell;
+            heapIndex[cell] = heapSize;
+            siftUp(heapSize++);
+        }
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapIndex[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndex[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private boolean less(int a, int b) {
+        return fScore[a] < fScore[b] || (fScore[a] == fScore[b] && gScore[a] > gScore[b]);
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (!less(cell, heap[parent])) break;
+            heap[i] = heap[parent];
+            heapIndex[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = cell;
+        heapIndex[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && less(heap[child + 1], heap[child])) child++;
+            if (!less(heap[child], cell)) break;
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        heapIndex[cell] = i;
+    }
+}
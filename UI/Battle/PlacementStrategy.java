@@ -0,0 +1,56 @@
+package UI.Battle;
+
+/**
+ * How {@link BattleGrid#spawnAll} picks free cells for a batch of objects.
+ *
+ * FILL_ORDER   - row-major from (0,0), the same order the single addXAtNextAvailable methods use
+ * RANDOM_SCATTER - uniformly random free cells, no repeats, drawn from the battle's
+ *                  {@link BattleRng.Purpose#PLACEMENT} stream so a seeded battle scatters alike
+ * CLUSTER      - nearest free cells to an anchor tile, spiralling outward around obstacles
+ */
+public final class PlacementStrategy {
+
+    public enum Kind { FILL_ORDER, RANDOM_SCATTER, CLUSTER }
+
+    private static final PlacementStrategy FILL_ORDER = new PlacementStrategy(Kind.FILL_ORDER, 0, 0, null);
+
+    private final Kind kind;
+    private final int anchorRow;
+    private final int anchorCol;
+    private final BattleRng rng;
+
+    private PlacementStrategy(Kind kind, int anchorRow, int anchorCol, BattleRng rng) {
+        this.kind = kind;
+        this.anchorRow = anchorRow;
+        this.anchorCol = anchorCol;
+        this.rng = rng;
+    }
+
+    public static PlacementStrategy fillOrder() {
+        return FILL_ORDER;
+    }
+
+    public static PlacementStrategy randomScatter(BattleRng rng) {
+        return new PlacementStrategy(Kind.RANDOM_SCATTER, 0, 0, rng);
+    }
+
+    public static PlacementStrategy clusterAround(int row, int col) {
+        return new PlacementStrategy(Kind.CLUSTER, row, col, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getAnchorRow() {
+        return anchorRow;
+    }
+
+    public int getAnchorCol() {
+        return anchorCol;
+    }
+
+    public BattleRng getRng() {
+        return rng;
+    }
+}
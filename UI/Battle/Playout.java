@@ -0,0 +1,327 @@
+package UI.Battle;
+
+import Objects.GridObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One battle being played out on a {@link CombatModel}: current health, positions and turn
+ * order in plain arrays, plus the default policy every automated combatant follows. Each
+ * combatant on its turn walks (within its movement, using the {@link MovementRange} step
+ * costs) as close as it can to the nearest living foe and, if one is then next to it,
+ * attacks the weakest adjacent foe using {@link CombatManager}'s tier rules and the damage
+ * rules of {@link AttackOdds}. While the foes still stand where the model captured them,
+ * "close" is the walking cost read off the model's shared {@link DistanceField}, which
+ * goes around walls and up hills; once any of them has moved or fallen it is the
+ * Manhattan distance to the nearest one.
+ *
+ * A playout belongs to one worker thread and is reused from run to run; once its scratch
+ * has grown it allocates nothing. Shared by the {@link BattleSimulator}, the
+ * {@link TacticalAdvisor} and the {@link AutoResolver}.
+ */
+final class Playout {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    /**
+     * How turns are ordered in a run: the live battle's order from {@code start} when the
+     * battle is under way ({@code fixed} non-null), otherwise initiative rolled per run.
+     */
+    record Order(TurnManager.RoundStartMode startMode, int[] fixed, int start) {
+
+        /** Initiative rolled normally in every run. */
+        static final Order ROLLED = new Order(TurnManager.RoundStartMode.NORMAL, null, 0);
+
+        /** The turn manager's settings, and its order mapped onto the model's units. */
+        static Order of(CombatModel model, TurnManager turns) {
+            if (turns == null) return ROLLED;
+            if (!turns.isBattleStarted()) return new Order(turns.getRoundStartMode(), null, 0);
+            List<Integer> order = new ArrayList<>();
+            int start = 0;
+            List<GridObject> live = turns.getTurnOrder();
+            for (int k = 0; k < live.size(); k++) {
+                int index = model.indexOf(live.get(k));
+                if (index < 0) continue;
+                if (k < turns.getCurrentIndex()) start = order.size() + 1;
+                order.add(index);
+            }
+            int[] fixed = order.stream().mapToInt(Integer::intValue).toArray();
+            return new Order(turns.getRoundStartMode(), fixed, fixed.length == 0 ? 0 : start % fixed.length);
+        }
+    }
+
+    final CombatModel model;
+    final int[] health;
+    final int[] position;
+    final int[] occupant;      // unit index + 1 per cell, 0 when empty
+    final int[] order;
+    final int[] ammo;          // shots left per unit, -1 for unlimited
+    final int[] damageTaken;   // total damage rolled against each unit this run
+    private final int[] initiative;
+
+    // Whether each side still stands exactly where the model captured it (nobody has moved
+    // or fallen), so the model's distance field toward that side is still exact
+    private boolean partyInPlace;
+    private boolean enemiesInPlace;
+
+    // Each cell's ground as first read from the model's snapshot: 0 = not read yet, 1 = not
+    // walkable, otherwise 2 + elevation. Kept across runs, so steps stop going through the
+    // snapshot's chunks once a cell has been seen.
+    private final byte[] ground;
+
+    // Bounded Dijkstra scratch: cost per cell, valid when stamp == generation
+    private final int[] cost;
+    private final int[] stamp;
+    private int generation;
+    private int[] queue = new int[64];
+    private int explored;
+
+    Playout(CombatModel model) {
+        this.model = model;
+        health = new int[model.unitCount];
+        position = new int[model.unitCount];
+        occupant = new int[model.rows * model.cols];
+        order = new int[model.unitCount];
+        ammo = new int[model.unitCount];
+        damageTaken = new int[model.unitCount];
+        initiative = new int[model.unitCount];
+        ground = new byte[model.rows * model.cols];
+        cost = new int[model.rows * model.cols];
+        stamp = new int[model.rows * model.cols];
+    }
+
+    /** Back to the model's captured health and positions, with unlimited ammo. */
+    void reset() {
+        Arrays.fill(occupant, 0);
+        Arrays.fill(ammo, -1);
+        Arrays.fill(damageTaken, 0);
+        System.arraycopy(model.health, 0, health, 0, health.length);
+        System.arraycopy(model.position, 0, position, 0, position.length);
+        for (int i = 0; i < position.length; i++) {
+            occupant[position[i]] = i + 1;
+        }
+        partyInPlace = true;
+        enemiesInPlace = true;
+    }
+
+    /** Fill the turn order and return the index of whoever acts first. */
+    int setUpOrder(Order settings, SplittableRandom rng) {
+        if (settings.fixed() != null) {
+            System.arraycopy(settings.fixed(), 0, order, 0, settings.fixed().length);
+            return settings.start();
+        }
+        TurnManager.RoundStartMode startMode = settings.startMode();
+        for (int i = 0; i < order.length; i++) {
+            int total = rng.nextInt(1, 21) + model.dexterity[i];
+            boolean enemy = model.enemy[i];
+            if ((startMode == TurnManager.RoundStartMode.SURPRISE && !enemy)
+                    || (startMode == TurnManager.RoundStartMode.AMBUSH && enemy)) {
+                total += 100;
+            }
+            // Ties broken by coin flip, as TurnManager does for enemies
+            initiative[i] = total * 64 + rng.nextInt(64);
+            order[i] = i;
+        }
+        // Insertion sort, highest first; a dozen combatants
+        for (int i = 1; i < order.length; i++) {
+            int unit = order[i];
+            int j = i - 1;
+            while (j >= 0 && initiative[order[j]] < initiative[unit]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = unit;
+        }
+        return 0;
+    }
+
+    /** +1 when only the party stands, -1 when only enemies do, 0 while both sides fight. */
+    int winner() {
+        boolean party = false;
+        boolean enemies = false;
+        for (int i = 0; i < health.length; i++) {
+            if (health[i] <= 0) continue;
+            if (model.enemy[i]) enemies = true; else party = true;
+        }
+        if (party && enemies) return 0;
+        return party ? 1 : -1;
+    }
+
+    /** Play one turn of the default policy. */
+    void takeTurn(int actor, SplittableRandom rng) {
+        int target = weakestAdjacentFoe(actor);
+        if (target < 0) {
+            int goal = nearestFoe(actor);
+            if (goal < 0) return;
+            moveToward(actor, goal);
+            target = weakestAdjacentFoe(actor);
+        }
+        if (target >= 0) {
+            attack(actor, target, rng);
+        }
+    }
+
+    int nearestFoe(int actor) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < health.length; i++) {
+            if (health[i] <= 0 || model.enemy[i] == model.enemy[actor]) continue;
+            int d = model.manhattan(position[actor], position[i]);
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    int weakestAdjacentFoe(int actor) {
+        int best = -1;
+        for (int i = 0; i < health.length; i++) {
+            if (health[i] <= 0 || model.enemy[i] == model.enemy[actor]) continue;
+            if (model.manhattan(position[actor], position[i]) != 1) continue;
+            if (best < 0 || health[i] < health[best]) best = i;
+        }
+        return best;
+    }
+
+    /** Walk to the reachable tile closest to the goal unit, preferring the cheaper walk. */
+    void moveToward(int actor, int goal) {
+        DistanceField field = foeFieldInPlace(actor);
+        int start = position[actor];
+        if (field != null && field.distance(start / model.cols, start % model.cols) == DistanceField.UNREACHABLE) {
+            field = null;  // walled off from every foe: head their way regardless
+        }
+        moveTo(actor, explore(actor, position[goal], field));
+    }
+
+    /** The model's field toward the actor's foes while it still matches them, else null. */
+    private DistanceField foeFieldInPlace(int actor) {
+        boolean inPlace = model.enemy[actor] ? partyInPlace : enemiesInPlace;
+        return inPlace ? model.foeField(actor) : null;
+    }
+
+    private void leftPlace(int unit) {
+        if (model.enemy[unit]) enemiesInPlace = false; else partyInPlace = false;
+    }
+
+    void moveTo(int actor, int cell) {
+        if (cell != position[actor]) leftPlace(actor);
+        occupant[position[actor]] = 0;
+        occupant[cell] = actor + 1;
+        position[actor] = cell;
+    }
+
+    /**
+     * Every tile the actor can end its move on this turn, its own included, in no
+     * particular order; the count is returned and the cells written to {@code out}.
+     */
+    int reachable(int actor, int[] out) {
+        explore(actor, -1, null);
+        int count = 0;
+        for (int i = 0; i < explored; i++) {
+            int cell = queue[i];
+            // A cell relaxed twice is queued twice; keep its first entry only
+            if (stamp[cell] == generation) {
+                stamp[cell] = generation - 1;
+                out[count++] = cell;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bounded Dijkstra over the actor's movement. Returns the reached tile closest to
+     * {@code goalCell} - by the field's walking cost when one is given - preferring the
+     * cheaper walk, or the start when there is no goal (-1); the tiles visited are left in
+     * the queue.
+     */
+    private int explore(int actor, int goalCell, DistanceField field) {
+        int cols = model.cols;
+        int start = position[actor];
+        int budget = model.movement[actor];
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        // Step costs are small integers, so a FIFO relaxed until stable is enough
+        int head = 0;
+        int tail = 0;
+        cost[start] = 0;
+        stamp[start] = generation;
+        queue[tail++] = start;
+        int best = start;
+        int bestDistance = goalCell < 0 ? 0 : goalDistance(start, goalCell, field);
+        while (head < tail) {
+            int at = queue[head++];
+            int r = at / cols;
+            int c = at % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + DR[k];
+                int nc = c + DC[k];
+                if (nr < 0 || nr >= model.rows || nc < 0 || nc >= cols) continue;
+                int next = nr * cols + nc;
+                int level = groundLevel(next);
+                if (level < 0 || occupant[next] != 0) continue;
+                int step = 1 + Math.max(0, level - groundLevel(at)) * MovementRange.CLIMB_COST_PER_LEVEL;
+                int total = cost[at] + step;
+                if (total > budget || (stamp[next] == generation && cost[next] <= total)) continue;
+                stamp[next] = generation;
+                cost[next] = total;
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, queue.length * 2);
+                }
+                queue[tail++] = next;
+                if (goalCell < 0) continue;
+                int d = goalDistance(next, goalCell, field);
+                if (d < bestDistance || (d == bestDistance && total < cost[best])) {
+                    bestDistance = d;
+                    best = next;
+                }
+            }
+        }
+        explored = tail;
+        return best;
+    }
+
+    private int goalDistance(int cell, int goalCell, DistanceField field) {
+        if (field == null) return model.manhattan(cell, goalCell);
+        return field.distance(cell / model.cols, cell % model.cols);
+    }
+
+    /** Elevation of a walkable cell, or -1 when it can't be walked on. */
+    private int groundLevel(int cell) {
+        int value = ground[cell];
+        if (value == 0) {
+            int r = cell / model.cols;
+            int c = cell % model.cols;
+            value = model.walkable(r, c) ? 2 + model.elevation(r, c) : 1;
+            ground[cell] = (byte) value;
+        }
+        return value - 2;
+    }
+
+    /** One attack; a unit out of ammo can't attack, and a shot is spent hit or miss. */
+    void attack(int actor, int target, SplittableRandom rng) {
+        if (ammo[actor] == 0) return;
+        if (ammo[actor] > 0) ammo[actor]--;
+        int d20 = rng.nextInt(1, 21);
+        int tier = model.attackTier(actor, target, d20);
+        if (tier == 0) return;
+        int damage = model.rollDamage(actor, tier, d20 == 20, model.members(actor, health[actor]), rng);
+        health[target] -= damage;
+        damageTaken[target] += damage;
+        if (health[target] <= 0) {
+            occupant[position[target]] = 0;
+            leftPlace(target);
+        }
+    }
+
+    /** Heal up to the unit's maximum health. */
+    void heal(int unit, int amount) {
+        health[unit] = Math.min(model.maxHealth[unit], health[unit] + amount);
+    }
+}
@@ -0,0 +1,218 @@
+package UI.Battle;
+
+import java.util.Arrays;
+
+/**
+ * Playable-cell mask for a rows x cols battle-grid shape, packed one bit per cell
+ * (row-major) into a long[]. Replaces the old jagged boolean[][] so large painted
+ * shapes stay small in memory, counts and set operations run a word at a time, and
+ * the mask has a compact run-length text form for saving presets.
+ */
+public final class ShapeMask {
+
+    private final int rows;
+    private final int cols;
+    private final long[] words;
+
+    public ShapeMask(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.words = new long[(rows * cols + 63) >>> 6];
+    }
+
+    private ShapeMask(int rows, int cols, long[] words) {
+        this.rows = rows;
+        this.cols = cols;
+        this.words = words;
+    }
+
+    /** Every cell playable. */
+    public static ShapeMask full(int rows, int cols) {
+        ShapeMask mask = new ShapeMask(rows, cols);
+        mask.fill(true);
+        return mask;
+    }
+
+    /** Pack a legacy jagged mask (e.g. from an old preset file); missing cells count as unplayable. */
+    public static ShapeMask fromArray(boolean[][] cells, int rows, int cols) {
+        ShapeMask mask = new ShapeMask(rows, cols);
+        for (int r = 0; r < rows && r < cells.length; r++) {
+            if (cells[r] == null) continue;
+            for (int c = 0; c < cols && c < cells[r].length; c++) {
+                if (cells[r][c]) {
+                    mask.set(r, c, true);
+                }
+            }
+        }
+        return mask;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isEnabled(int r, int c) {
+        int bit = r * cols + c;
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public void set(int r, int c, boolean enabled) {
+        int bit = r * cols + c;
+        if (enabled) {
+            words[bit >>> 6] |= 1L << bit;
+        } else {
+            words[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    public void fill(boolean enabled) {
+        Arrays.fill(words, enabled ? -1L : 0L);
+        if (enabled) {
+            clearTail();
+        }
+    }
+
+    /** Keep the unused high bits of the last word zero so counts and equality stay exact. */
+    private void clearTail() {
+        int used = (rows * cols) & 63;
+        if (used != 0 && words.length > 0) {
+            words[words.length - 1] &= (1L << used) - 1;
+        }
+    }
+
+    public int enabledCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /** Cells playable in both masks. */
+    public ShapeMask intersect(ShapeMask other) {
+        requireSameSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new ShapeMask(rows, cols, result);
+    }
+
+    /** Cells playable in either mask. */
+    public ShapeMask union(ShapeMask other) {
+        requireSameSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new ShapeMask(rows, cols, result);
+    }
+
+    private void requireSameSize(ShapeMask other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException("Mask sizes differ: " + rows + "x" + cols
+                + " vs " + other.rows + "x" + other.cols);
+        }
+    }
+
+    public ShapeMask copy() {
+        return new ShapeMask(rows, cols, words.clone());
+    }
+
+    /**
+     * Run-length text form: "ROWSxCOLS:n0,n1,n2,..." where the runs alternate playable,
+     * unplayable, playable... cells in row-major order (n0 may be 0). A painted blob or
+     * built-in shape collapses to a few runs per row instead of one JSON boolean per cell.
+     */
+    public String toRunLength() {
+        StringBuilder sb = new StringBuilder().append(rows).append('x').append(cols).append(':');
+        int total = rows * cols;
+        boolean current = true;
+        int bit = 0;
+        boolean first = true;
+        while (bit < total) {
+            int next = nextBit(bit, !current, total);
+            if (!first) sb.append(',');
+            sb.append(next - bit);
+            first = false;
+            bit = next;
+            current = !current;
+        }
+        return sb.toString();
+    }
+
+    /** First index >= from whose bit equals value, or total if none; skips whole uniform words. */
+    private int nextBit(int from, boolean value, int total) {
+        int wordIdx = from >>> 6;
+        if (wordIdx >= words.length) return total;
+        long word = (value ? words[wordIdx] : ~words[wordIdx]) & (-1L << from);
+        while (word == 0) {
+            if (++wordIdx >= words.length) return total;
+            word = value ? words[wordIdx] : ~words[wordIdx];
+        }
+        return Math.min(total, (wordIdx << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /** Parse {@link #toRunLength()} output; throws IllegalArgumentException on malformed input. */
+    public static ShapeMask fromRunLength(String text) {
+        try {
+            int colon = text.indexOf(':');
+            int x = text.indexOf('x');
+            int rows = Integer.parseInt(text.substring(0, x).trim());
+            int cols = Integer.parseInt(text.substring(x + 1, colon).trim());
+            ShapeMask mask = new ShapeMask(rows, cols);
+            int total = rows * cols;
+            int bit = 0;
+            boolean current = true;
+            String body = text.substring(colon + 1).trim();
+            if (!body.isEmpty()) {
+                for (String part : body.split(",")) {
+                    int run = Integer.parseInt(part.trim());
+                    int end = Math.min(total, bit + run);
+                    if (current) {
+                        mask.setRange(bit, end);
+                    }
+                    bit = end;
+                    current = !current;
+                }
+            }
+            return mask;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed shape mask: " + text, e);
+        }
+    }
+
+    /** Set bits [from, to) a word at a time. */
+    private void setRange(int from, int to) {
+        if (from >= to) return;
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ShapeMask other)) return false;
+        return rows == other.rows && cols == other.cols && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,97 @@
+package UI.Battle;
+
+import Objects.GridObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Coarse spatial hash of combatants for {@link BattleGrid}'s range queries. The
+ * board is split into 8x8-cell buckets, each holding the units standing in it, so a
+ * radius/rectangle/cone query only touches the buckets its bounding box overlaps and
+ * the units inside them - never the full unit list.
+ */
+public final class SpatialBuckets {
+
+    public static final int BUCKET_SHIFT = 3;
+
+    private final int rows;
+    private final int cols;
+    private final int bucketRows;
+    private final int bucketCols;
+    private final List<List<GridObject>> buckets;
+
+    public SpatialBuckets(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.bucketRows = (rows + (1 << BUCKET_SHIFT) - 1) >> BUCKET_SHIFT;
+        this.bucketCols = (cols + (1 << BUCKET_SHIFT) - 1) >> BUCKET_SHIFT;
+        this.buckets = new ArrayList<>(bucketRows * bucketCols);
+        for (int i = 0; i < bucketRows * bucketCols; i++) {
+            buckets.add(null); // allocated on first use
+        }
+    }
+
+    private boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    private int bucketOf(int r, int c) {
+        return (r >> BUCKET_SHIFT) * bucketCols + (c >> BUCKET_SHIFT);
+    }
+
+    public void add(GridObject unit, int r, int c) {
+        if (!inBounds(r, c)) return;
+        int idx = bucketOf(r, c);
+        List<GridObject> bucket = buckets.get(idx);
+        if (bucket == null) {
+            bucket = new ArrayList<>(4);
+            buckets.set(idx, bucket);
+        }
+        bucket.add(unit);
+    }
+
+    public void remove(GridObject unit, int r, int c) {
+        if (!inBounds(r, c)) return;
+        List<GridObject> bucket = buckets.get(bucketOf(r, c));
+        if (bucket != null) {
+            bucket.remove(unit);
+        }
+    }
+
+    /** Re-bucket a unit after a move; a no-op while it stays within the same bucket. */
+    public void move(GridObject unit, int oldRow, int oldCol, int newRow, int newCol) {
+        boolean wasIn = inBounds(oldRow, oldCol);
+        boolean isIn = inBounds(newRow, newCol);
+        if (wasIn && isIn && bucketOf(oldRow, oldCol) == bucketOf(newRow, newCol)) {
+            return;
+        }
+        remove(unit, oldRow, oldCol);
+        add(unit, newRow, newCol);
+    }
+
+    /**
+     * Append every unit standing inside the inclusive box [r0..r1] x [c0..c1] (clamped to
+     * the board) that also passes the filter.
+     */
+    public void collectInBox(int r0, int c0, int r1, int c1, Predicate<GridObject> filter, List<GridObject> out) {
+        r0 = Math.max(0, r0);
+        c0 = Math.max(0, c0);
+        r1 = Math.min(rows - 1, r1);
+        c1 = Math.min(cols - 1, c1);
+        if (r0 > r1 || c0 > c1) return;
+        for (int br = r0 >> BUCKET_SHIFT; br <= r1 >> BUCKET_SHIFT; br++) {
+            for (int bc = c0 >> BUCKET_SHIFT; bc <= c1 >> BUCKET_SHIFT; bc++) {
+                List<GridObject> bucket = buckets.get(br * bucketCols + bc);
+                if (bucket == null) continue;
+                for (GridObject unit : bucket) {
+                    int r = unit.getRow();
+                    int c = unit.getCol();
+                    if (r >= r0 && r <= r1 && c >= c0 && c <= c1 && filter.test(unit)) {
+                        out.add(unit);
+                    }
+                }
+            }
+        }
+    }
+}
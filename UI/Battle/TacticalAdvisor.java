@@ -0,0 +1,276 @@
+package UI.Battle;
+
+import EntityRes.Consumable;
+import EntityRes.Item;
+import Objects.Entity;
+import Objects.GridObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Suggests the best turn for a party member: where to walk, then whether to attack an
+ * adjacent foe, use a healing item or hold.
+ *
+ * This is flat Monte Carlo, not a tree search: each candidate turn is an arm of a single
+ * UCB1 bandit and nothing below the root is expanded. A worker picks the arm with the best
+ * upper confidence bound, plays that turn out on its own {@link Playout}, lets every
+ * combatant continue with the default policy for up to {@link #HORIZON_ROUNDS} rounds, and
+ * credits the arm with the result: 1 for a party win, 0 for a loss, otherwise how far the
+ * surviving health leans the party's way. Replies to the turn are only ever the default
+ * policy's, so the estimate is of the turn against typical play, not against the best reply.
+ *
+ * Workers run on the fork/join pool until the time budget is spent. They share only the
+ * per-arm visit counts and reward sums, in atomic arrays padded so each arm has its own
+ * cache line: selecting and crediting an arm is a plain read and a lock-free add, so
+ * workers never wait on each other. A visit is counted before its playout and the reward
+ * added after, which briefly makes an arm look worse and steers other workers elsewhere.
+ */
+public final class TacticalAdvisor {
+
+    /** Default time to think about one turn. */
+    public static final long DEFAULT_BUDGET_NANOS = 500_000_000L;
+
+    /** Rounds a playout runs past the suggested turn before its state is scored. */
+    public static final int HORIZON_ROUNDS = 8;
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final long REWARD_SCALE = 1_000_000L;  // rewards are summed in fixed point
+    private static final int STRIDE = 8;                   // longs per arm: one 64-byte line
+    private static final int MOVE_CANDIDATES = 4;          // advance and retreat tiles kept each way
+    private static final int NO_TARGET = -1;
+
+    /**
+     * A suggested turn: walk to (row, col), which may be where the unit stands, then attack
+     * {@code target}, or use {@code item} when it is not null, or do nothing more.
+     * {@code expectedValue} is the mean playout reward, from 0 (the party loses) to 1.
+     */
+    public record Suggestion(GridObject unit, int row, int col, GridObject target, Consumable item,
+            double expectedValue, long playouts) {}
+
+    private final CombatModel model;
+    private final Playout.Order order;
+    private final int actor;
+    private final Consumable item;     // best heal on hand, or null
+    private final int healAmount;
+
+    // Arm a: walk to cells[a], then attack targets[a] (NO_TARGET for none) or heal when heals[a]
+    private int[] cells;
+    private int[] targets;
+    private boolean[] heals;
+    private int arms;
+
+    private TacticalAdvisor(CombatModel model, Playout.Order order, int actor, Consumable item) {
+        this.model = model;
+        this.order = order;
+        this.actor = actor;
+        this.item = item;
+        this.healAmount = item == null ? 0 : item.getHealAmount();
+    }
+
+    /**
+     * Capture the battle for advising {@code entity}'s turn. Call on the FX thread; null if
+     * the entity is not a living party member on the board.
+     */
+    public static TacticalAdvisor of(BattleGrid grid, TurnManager turns, Entity entity) {
+        CombatModel model = CombatModel.capture(grid);
+        int actor = model.indexOf(entity);
+        if (actor < 0 || model.enemy[actor]) return null;
+        return new TacticalAdvisor(model, Playout.Order.of(model, turns), actor, bestHeal(entity));
+    }
+
+    private static Consumable bestHeal(Entity entity) {
+        Consumable best = null;
+        for (Item item : entity.getCharSheet().getInventory()) {
+            if (item instanceof Consumable c && c.getHealAmount() > 0 && c.getQuantity() > 0
+                    && (best == null || c.getHealAmount() > best.getHealAmount())) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Search for about {@code budgetNanos} over every core of the common pool and return the
+     * most-visited turn.
+     */
+    public Suggestion suggest(long budgetNanos, long seed) {
+        long deadline = System.nanoTime() + budgetNanos;
+        buildArms();
+        AtomicLongArray visits = new AtomicLongArray(arms * STRIDE);
+        AtomicLongArray rewards = new AtomicLongArray(arms * STRIDE);
+        int workers = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            long workerSeed = BattleRng.childSeed(seed, w);
+            tasks.add(() -> {
+                search(visits, rewards, deadline, new SplittableRandom(workerSeed));
+                return null;
+            });
+        }
+        ForkJoinPool.commonPool().invokeAll(tasks);
+
+        int best = 0;
+        long playouts = 0;
+        for (int a = 0; a < arms; a++) {
+            long n = visits.get(a * STRIDE);
+            playouts += n;
+            if (n > visits.get(best * STRIDE)) best = a;
+        }
+        long n = visits.get(best * STRIDE);
+        double value = n == 0 ? 0 : (double) rewards.get(best * STRIDE) / REWARD_SCALE / n;
+        int cell = cells[best];
+        return new Suggestion(model.source[actor], cell / model.cols, cell % model.cols,
+            targets[best] == NO_TARGET ? null : model.source[targets[best]],
+            heals[best] ? item : null, value, playouts);
+    }
+
+    private void search(AtomicLongArray visits, AtomicLongArray rewards, long deadline, SplittableRandom rng) {
+        Playout run = new Playout(model);
+        do {
+            int arm = select(visits, rewards);
+            visits.getAndIncrement(arm * STRIDE);
+            double reward = play(run, arm, rng);
+            rewards.getAndAdd(arm * STRIDE, Math.round(reward * REWARD_SCALE));
+        } while (System.nanoTime() < deadline);
+    }
+
+    /** UCB1 over the shared statistics; an arm nobody has tried yet goes first. */
+    private int select(AtomicLongArray visits, AtomicLongArray rewards) {
+        long total = 0;
+        for (int a = 0; a < arms; a++) {
+            long n = visits.get(a * STRIDE);
+            if (n == 0) return a;
+            total += n;
+        }
+        double logTotal = Math.log(total);
+        int best = 0;
+        double bestBound = Double.NEGATIVE_INFINITY;
+        for (int a = 0; a < arms; a++) {
+            long n = visits.get(a * STRIDE);
+            double mean = (double) rewards.get(a * STRIDE) / REWARD_SCALE / n;
+            double bound = mean + EXPLORATION * Math.sqrt(logTotal / n);
+            if (bound > bestBound) {
+                bestBound = bound;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    // ===== PLAYOUT =====
+
+    /**
+     * Take the arm's turn now, then play on with the default policy from whoever's turn it
+     * is, and score the result. The arm stands in for the actor's turn this round: if its
+     * slot is still to come (it is up, or is acting out of turn) that slot is skipped.
+     */
+    private double play(Playout run, int arm, SplittableRandom rng) {
+        run.reset();
+        int turn = run.setUpOrder(order, rng);
+        run.moveTo(actor, cells[arm]);
+        if (targets[arm] != NO_TARGET) {
+            run.attack(actor, targets[arm], rng);
+        } else if (heals[arm]) {
+            // Item efficacy: a d10 gives 10%-100% of the item's healing
+            run.heal(actor, (int) Math.ceil(healAmount * rng.nextInt(1, 11) * 10 / 100.0));
+        }
+        int round = 1;
+        boolean actorPending = true;  // the actor's slot this round hasn't come yet
+        while (run.winner() == 0) {
+            int unit = run.order[turn];
+            if (unit == actor && actorPending) {
+                actorPending = false;
+            } else if (run.health[unit] > 0) {
+                run.takeTurn(unit, rng);
+            }
+            if (++turn == run.order.length) {
+                turn = 0;
+                actorPending = false;
+                if (++round > HORIZON_ROUNDS) break;
+            }
+        }
+        return score(run);
+    }
+
+    /** 1 for a party win, 0 for a loss; otherwise half plus half the swing in health shares. */
+    private double score(Playout run) {
+        int winner = run.winner();
+        if (winner != 0) return winner > 0 ? 1 : 0;
+        long party = 0;
+        long partyStart = 0;
+        long foes = 0;
+        long foesStart = 0;
+        for (int i = 0; i < model.unitCount; i++) {
+            int left = Math.max(0, run.health[i]);
+            if (model.enemy[i]) {
+                foes += left;
+                foesStart += model.health[i];
+            } else {
+                party += left;
+                partyStart += model.health[i];
+            }
+        }
+        double partyShare = partyStart == 0 ? 0 : Math.min(1, (double) party / partyStart);
+        double foeShare = foesStart == 0 ? 0 : Math.min(1, (double) foes / foesStart);
+        return 0.5 + 0.5 * (partyShare - foeShare);
+    }
+
+    // ===== CANDIDATE TURNS =====
+
+    /**
+     * Every attack the actor can make from any tile it can reach, healing where it stands and
+     * from its safest tile, and plain moves: hold, or the few tiles that close on the foes
+     * most and least, by walking cost off the captured distance field.
+     */
+    private void buildArms() {
+        Playout run = new Playout(model);
+        run.reset();
+        int[] reach = new int[model.rows * model.cols];
+        int count = run.reachable(actor, reach);
+        int start = model.position[actor];
+
+        // Reachable tiles by distance to the nearest foe: key = distance << 32 | cell
+        long[] byDistance = new long[count];
+        for (int i = 0; i < count; i++) {
+            byDistance[i] = ((long) model.foeDistance(actor, reach[i]) << 32) | reach[i];
+        }
+        Arrays.sort(byDistance);
+
+        cells = new int[count * (model.unitCount + 1) + 2];
+        targets = new int[cells.length];
+        heals = new boolean[cells.length];
+        arms = 0;
+        addArm(start, NO_TARGET, false);
+        for (int i = 0; i < count; i++) {
+            int cell = reach[i];
+            for (int foe = 0; foe < model.unitCount; foe++) {
+                if (model.enemy[foe] && model.manhattan(cell, model.position[foe]) == 1) {
+                    addArm(cell, foe, false);
+                }
+            }
+        }
+        for (int i = 0; i < Math.min(MOVE_CANDIDATES, count); i++) {
+            addArm((int) byDistance[i], NO_TARGET, false);
+            addArm((int) byDistance[count - 1 - i], NO_TARGET, false);
+        }
+        if (item != null && model.health[actor] < model.maxHealth[actor]) {
+            addArm(start, NO_TARGET, true);
+            addArm((int) byDistance[count - 1], NO_TARGET, true);
+        }
+    }
+
+    private void addArm(int cell, int target, boolean heal) {
+        for (int a = 0; a < arms; a++) {
+            if (cells[a] == cell && targets[a] == target && heals[a] == heal) return;
+        }
+        cells[arms] = cell;
+        targets[arms] = target;
+        heals[arms] = heal;
+        arms++;
+    }
+}
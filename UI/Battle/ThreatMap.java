@@ -0,0 +1,183 @@
+package UI.Battle;
+
+import Objects.Enemy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How many enemies could strike each cell this turn: every tile an enemy can move onto
+ * (its {@link MovementRange}, plus the tile it stands on) and the four tiles next to
+ * those, which it could then attack.
+ *
+ * Each enemy's reach is kept, so when something moves only the enemies it could affect
+ * are redone: the mover itself, and any enemy whose movement window covers the tile that
+ * was vacated or taken (a unit there can block or open a route). Recomputing happens in
+ * {@link #refresh}, once per read, rather than on every move.
+ */
+public final class ThreatMap {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private record Reach(int[] cells, int row, int col, int budget) {
+        boolean covers(int r, int c) {
+            return Math.abs(r - row) <= budget && Math.abs(c - col) <= budget;
+        }
+    }
+
+    private final BattleGrid grid;
+    private final int cols;
+    private final int[] threat;
+    private final Map<Enemy, Reach> reaches = new IdentityHashMap<>();
+    private final Set<Enemy> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Dedupes one enemy's cells; a cell is already taken when stamp == generation
+    private final int[] stamp;
+    private int generation;
+    private int[] scratch = new int[64];
+
+    // Bumped whenever any count changes, for cached overlays
+    private int version;
+    private int maxThreat = -1;
+
+    ThreatMap(BattleGrid grid) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        this.threat = new int[grid.getRows() * cols];
+        this.stamp = new int[threat.length];
+    }
+
+    /** Recompute every enemy's reach, e.g. after walls or elevation changed. */
+    void rebuild(List<Enemy> enemies) {
+        Arrays.fill(threat, 0);
+        reaches.clear();
+        dirty.clear();
+        for (Enemy en : enemies) {
+            add(en);
+        }
+        version++;
+        maxThreat = -1;
+    }
+
+    /** A unit left or entered the tile: redo the enemies whose movement could route through it. */
+    void blockerChanged(int r, int c) {
+        for (Map.Entry<Enemy, Reach> entry : reaches.entrySet()) {
+            if (entry.getValue().covers(r, c)) {
+                dirty.add(entry.getKey());
+            }
+        }
+    }
+
+    void removeEnemy(Enemy en) {
+        dirty.remove(en);
+        if (drop(en)) {
+            version++;
+            maxThreat = -1;
+        }
+    }
+
+    /**
+     * Redo the reaches marked dirty, and any whose enemy has since moved or had its
+     * movement changed. Called by {@link BattleGrid#getThreatMap()} before handing the map out.
+     */
+    void refresh(List<Enemy> enemies) {
+        for (Enemy en : enemies) {
+            Reach reach = reaches.get(en);
+            if (reach == null || reach.row() != en.getRow() || reach.col() != en.getCol()
+                    || reach.budget() != en.getMovement()) {
+                dirty.add(en);
+            }
+        }
+        if (dirty.isEmpty()) return;
+        for (Enemy en : dirty) {
+            drop(en);
+            add(en);
+        }
+        dirty.clear();
+        version++;
+        maxThreat = -1;
+    }
+
+    private void add(Enemy en) {
+        int row = en.getRow();
+        int col = en.getCol();
+        if (!grid.inBounds(row, col)) return;
+        int budget = Math.max(0, en.getMovement());
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        int count = 0;
+        count = take(row, col, count);
+        MovementRange range = MovementRange.compute(grid, row, col, budget);
+        for (int r = range.getMinRow(); r <= range.getMaxRow(); r++) {
+            for (int c = range.getMinCol(); c <= range.getMaxCol(); c++) {
+                if (range.contains(r, c)) {
+                    count = take(r, c, count);
+                }
+            }
+        }
+        // Strike reach: one step out from every tile it could stand on
+        int standable = count;
+        for (int i = 0; i < standable; i++) {
+            int r = scratch[i] / cols;
+            int c = scratch[i] % cols;
+            for (int k = 0; k < 4; k++) {
+                count = take(r + DR[k], c + DC[k], count);
+            }
+        }
+        int[] cells = Arrays.copyOf(scratch, count);
+        for (int cell : cells) {
+            threat[cell]++;
+        }
+        reaches.put(en, new Reach(cells, row, col, budget));
+    }
+
+    private int take(int r, int c, int count) {
+        if (!grid.inBounds(r, c) || !grid.isEnabled(r, c)) return count;
+        int cell = r * cols + c;
+        if (stamp[cell] == generation) return count;
+        stamp[cell] = generation;
+        if (count == scratch.length) {
+            scratch = Arrays.copyOf(scratch, count * 2);
+        }
+        scratch[count] = cell;
+        return count + 1;
+    }
+
+    private boolean drop(Enemy en) {
+        Reach reach = reaches.remove(en);
+        if (reach == null) return false;
+        for (int cell : reach.cells()) {
+            threat[cell]--;
+        }
+        return true;
+    }
+
+    // ===== QUERIES =====
+
+    /** Number of enemies that could move to and strike the cell this turn. */
+    public int threatAt(int r, int c) {
+        return grid.inBounds(r, c) ? threat[r * cols + c] : 0;
+    }
+
+    /** Highest count on the board, for scaling an overlay. */
+    public int getMaxThreat() {
+        if (maxThreat < 0) {
+            int max = 0;
+            for (int t : threat) {
+                max = Math.max(max, t);
+            }
+            maxThreat = max;
+        }
+        return maxThreat;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+}
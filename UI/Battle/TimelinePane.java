@@ -3,6 +3,7 @@ package UI.Battle;
 import Objects.Entity;
 import Objects.Enemy;
 import Objects.GridObject;
+import Objects.Squad;
 import UI.AnimationUtils;
 import UI.IconUtils;
 import UI.SpriteUtils;
@@ -307,7 +308,8 @@ public class TimelinePane extends HBox {
             bar.getStyleClass().add(pct > 0.5 ? "progress-bar-success" : pct > 0.25 ? "progress-bar-warning" : "progress-bar-danger");
             Label hpText = hpLabels.get(combatant);
             if (hpText != null) {
-                hpText.setText(hp + "/" + maxHp);
+                String members = combatant instanceof Squad squad ? "  x" + squad.getSurvivors() : "";
+                hpText.setText(hp + "/" + maxHp + members);
             }
         }
     }
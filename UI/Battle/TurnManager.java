@@ -25,11 +25,16 @@ public class TurnManager {
     // Callback for when player ties need resolution
     private Consumer<List<List<GridObject>>> tieResolutionHandler;
     
-    // Random for dice rolls
-    private final Random random = new Random();
+    // Battle RNG for initiative rolls and coin flips, so they replay from the battle's seed
+    private final BattleRng rng;
 
     public TurnManager(List<Entity> entities) {
+        this(entities, new BattleRng(BattleRng.newSeed()));
+    }
+
+    public TurnManager(List<Entity> entities, BattleRng rng) {
         this.turnOrder = new ArrayList<>(entities);
+        this.rng = rng;
     }
 
     /**
@@ -70,7 +75,7 @@ public class TurnManager {
                 d20 = Math.max(1, Math.min(20, partyRollInputs.get(entity)));
                 manualRoll = true;
             } else {
-                d20 = random.nextInt(20) + 1;
+                d20 = rng.d20(BattleRng.Purpose.INITIATIVE);
             }
 
             int dexMod = getDexterity(obj);
@@ -149,7 +154,7 @@ public class TurnManager {
             
             if (needsCoinFlip.size() > 1) {
                 // Shuffle using coin flips
-                Collections.shuffle(needsCoinFlip, random);
+                rng.shuffle(needsCoinFlip, BattleRng.Purpose.TIE_BREAK);
                 
                 // Log the coin flip results for mixed ties
                 if (!enemies.isEmpty() && !partyMembers.isEmpty()) {
@@ -199,7 +204,7 @@ public class TurnManager {
     /**
      * Get the DEX modifier for a combatant.
      */
-    private int getDexterity(GridObject obj) {
+    static int getDexterity(GridObject obj) {
         if (obj instanceof Entity e) {
             return e.getCharSheet().getTotalAttribute(CharSheet.DEXTERITY);
         } else if (obj instanceof Enemy enemy) {
@@ -380,6 +385,19 @@ public class TurnManager {
         return round;
     }
 
+    /**
+     * Jump to {@code next}'s turn, {@code rounds} rounds on, without processing the turns
+     * in between; for turns already played out elsewhere (auto-resolve), whose turn-start
+     * effects were applied there.
+     */
+    public void fastForward(GridObject next, int rounds) {
+        int idx = turnOrder.indexOf(next);
+        if (idx != -1) {
+            currentIndex = idx;
+        }
+        round += Math.max(0, rounds);
+    }
+
     /**
      * Add a party member to the battle. If the battle has already started,
      * they immediately roll initiative and are inserted into the turn order.
@@ -437,7 +455,7 @@ public class TurnManager {
         GridObject actingCombatant = turnOrder.isEmpty() ? null
             : turnOrder.get(Math.min(currentIndex, turnOrder.size() - 1));
 
-        int d20 = random.nextInt(20) + 1;
+        int d20 = rng.d20(BattleRng.Purpose.INITIATIVE);
         int total = d20 + dexMod;
         initiativeRolls.put(obj, total);
         rollBreakdown.put(obj, new int[]{d20, dexMod});
@@ -467,6 +485,34 @@ public class TurnManager {
         }
     }
 
+    /**
+     * Remove several combatants in one pass, keeping the current combatant's turn (or, if it
+     * was removed, handing it to whoever came next).
+     */
+    public void removeCombatants(Collection<? extends GridObject> combatants) {
+        if (combatants.isEmpty()) return;
+        Set<GridObject> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(combatants);
+        int before = 0;
+        List<GridObject> kept = new ArrayList<>(turnOrder.size());
+        for (int i = 0; i < turnOrder.size(); i++) {
+            GridObject obj = turnOrder.get(i);
+            if (gone.contains(obj)) {
+                if (i < currentIndex) before++;
+                initiativeRolls.remove(obj);
+                rollBreakdown.remove(obj);
+            } else {
+                kept.add(obj);
+            }
+        }
+        turnOrder.clear();
+        turnOrder.addAll(kept);
+        currentIndex -= before;
+        if (currentIndex >= turnOrder.size() && !turnOrder.isEmpty()) {
+            currentIndex = 0;
+        }
+    }
+
     public void setBattleStarted(boolean started) {
         this.battleStarted = started;
     }
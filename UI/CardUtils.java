@@ -636,7 +636,7 @@ public class CardUtils {
     private static CardStyle getItemRarityStyle(Item item) {
         // Determine rarity based on item properties
         if (item instanceof Weapon w) {
-            int dmg = estimateWeaponDamage(w.getDamageDice());
+            int dmg = estimateWeaponDamage(w.getDamageSpecs());
             if (dmg >= 20) return CardStyle.LEGENDARY;
             if (dmg >= 12) return CardStyle.RARE;
             if (dmg >= 6) return CardStyle.UNCOMMON;
@@ -688,19 +688,10 @@ public class CardUtils {
         return String.join("/", dice);
     }
 
-    private static int estimateWeaponDamage(String[] dice) {
+    private static int estimateWeaponDamage(DiceSpec[] dice) {
         if (dice == null || dice.length == 0 || dice[0] == null) {
             return 4;
         }
-
-        return switch (dice[0].toLowerCase()) {
-            case "d4" -> 2;
-            case "d6" -> 3;
-            case "d8" -> 4;
-            case "d10" -> 5;
-            case "d12" -> 6;
-            case "d20" -> 10;
-            default -> 4;
-        };
+        return (int) dice[0].getMean();
     }
 }
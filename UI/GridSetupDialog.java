@@ -2,6 +2,7 @@ package UI;
 
 import UI.Battle.GridShapes;
 import UI.Battle.GridShapes.ShapeType;
+import UI.Battle.ShapeMask;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Insets;
@@ -27,7 +28,6 @@ import javafx.scene.paint.Color;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,10 +50,10 @@ public final class GridSetupDialog {
     public static final class Result {
         public final int rows;
         public final int cols;
-        public final boolean[][] mask; // null = rectangle (every cell playable)
+        public final ShapeMask mask; // null = rectangle (every cell playable)
         public final String themeName;
 
-        Result(int rows, int cols, boolean[][] mask, String themeName) {
+        Result(int rows, int cols, ShapeMask mask, String themeName) {
             this.rows = rows;
             this.cols = cols;
             this.mask = mask;
@@ -110,7 +110,7 @@ public final class GridSetupDialog {
         int[] currentRows = {8};
         int[] currentCols = {8};
         ObjectProperty<RailMode> currentMode = new SimpleObjectProperty<>(RailMode.RECTANGLE);
-        boolean[][][] paintMaskHolder = new boolean[1][][];
+        ShapeMask[] paintMaskHolder = new ShapeMask[1];
         int[] paintValueHolder = {1}; // captured from the first cell touched in a drag gesture
         int[] lastPaintedRow = {-1};
         int[] lastPaintedCol = {-1};
@@ -129,11 +129,7 @@ public final class GridSetupDialog {
         Runnable[] resetPaintMask = new Runnable[1];
         Runnable[] refreshPresetsList = new Runnable[1];
 
-        resetPaintMask[0] = () -> {
-            boolean[][] m = new boolean[currentRows[0]][currentCols[0]];
-            for (boolean[] row : m) Arrays.fill(row, true);
-            paintMaskHolder[0] = m;
-        };
+        resetPaintMask[0] = () -> paintMaskHolder[0] = ShapeMask.full(currentRows[0], currentCols[0]);
         resetPaintMask[0].run();
 
         // ===== Center: built-in shape preview / custom paint canvas / presets browser =====
@@ -207,7 +203,7 @@ public final class GridSetupDialog {
                 case PLUS -> ShapeType.PLUS;
                 default -> ShapeType.RECTANGLE;
             };
-            boolean[][] mask = GridShapes.forType(type, currentRows[0], currentCols[0]);
+            ShapeMask mask = GridShapes.forType(type, currentRows[0], currentCols[0]);
             drawShapePreview(preview, currentRows[0], currentCols[0], mask);
             countLabel.setText(GridShapes.enabledCount(mask, currentRows[0], currentCols[0]) + " playable tiles");
             liveSelection.set(new Result(currentRows[0], currentCols[0], mask, themePicker.getValue()));
@@ -229,9 +225,9 @@ public final class GridSetupDialog {
         paintCanvas.setOnMousePressed(e -> {
             int[] cell = pointToCell(e.getX(), e.getY(), currentRows[0], currentCols[0], PREVIEW_SIZE, PREVIEW_SIZE);
             if (cell == null) return;
-            boolean newValue = !paintMaskHolder[0][cell[0]][cell[1]];
+            boolean newValue = !paintMaskHolder[0].isEnabled(cell[0], cell[1]);
             paintValueHolder[0] = newValue ? 1 : 0;
-            paintMaskHolder[0][cell[0]][cell[1]] = newValue;
+            paintMaskHolder[0].set(cell[0], cell[1], newValue);
             lastPaintedRow[0] = cell[0];
             lastPaintedCol[0] = cell[1];
             refreshCustom[0].run();
@@ -239,23 +235,23 @@ public final class GridSetupDialog {
         paintCanvas.setOnMouseDragged(e -> {
             int[] cell = pointToCell(e.getX(), e.getY(), currentRows[0], currentCols[0], PREVIEW_SIZE, PREVIEW_SIZE);
             if (cell == null || (cell[0] == lastPaintedRow[0] && cell[1] == lastPaintedCol[0])) return;
-            paintMaskHolder[0][cell[0]][cell[1]] = paintValueHolder[0] == 1;
+            paintMaskHolder[0].set(cell[0], cell[1], paintValueHolder[0] == 1);
             lastPaintedRow[0] = cell[0];
             lastPaintedCol[0] = cell[1];
             refreshCustom[0].run();
         });
         clearBtn.setOnAction(e -> {
-            for (boolean[] row : paintMaskHolder[0]) Arrays.fill(row, false);
+            paintMaskHolder[0].fill(false);
             refreshCustom[0].run();
         });
         fillBtn.setOnAction(e -> {
-            for (boolean[] row : paintMaskHolder[0]) Arrays.fill(row, true);
+            paintMaskHolder[0].fill(true);
             refreshCustom[0].run();
         });
         savePresetBtn.setOnAction(e -> {
             String name = presetNameField.getText().trim();
             if (name.isEmpty()) return;
-            GridShapePreset preset = new GridShapePreset(name, currentRows[0], currentCols[0], paintMaskHolder[0]);
+            GridShapePreset preset = new GridShapePreset(name, currentRows[0], currentCols[0], paintMaskHolder[0].copy());
             GridShapePresetDatabase.getInstance().savePreset(preset);
             presetNameField.setText("");
             refreshPresetsList[0].run();
@@ -276,11 +272,7 @@ public final class GridSetupDialog {
                     // "Use": load into Custom Paint, pre-populated and still editable
                     currentRows[0] = preset.getRows();
                     currentCols[0] = preset.getCols();
-                    boolean[][] copy = new boolean[preset.getRows()][preset.getCols()];
-                    for (int r = 0; r < preset.getRows(); r++) {
-                        copy[r] = preset.getMask()[r].clone();
-                    }
-                    paintMaskHolder[0] = copy;
+                    paintMaskHolder[0] = preset.getMask().copy();
                     selectRailButton(shapeGroup, RailMode.CUSTOM);
                 }, () -> {
                     DialogUtils.confirm("Delete Preset", null, "Delete \"" + preset.getName() + "\"?")
@@ -418,7 +410,7 @@ public final class GridSetupDialog {
     }
 
     /** Matches the previous size-picker's exact palette: #2d2d30 background, #464648 playable cell. */
-    private static void drawShapePreview(Canvas canvas, int rows, int cols, boolean[][] mask) {
+    private static void drawShapePreview(Canvas canvas, int rows, int cols, ShapeMask mask) {
         GraphicsContext gc = canvas.getGraphicsContext2D();
         double w = canvas.getWidth();
         double h = canvas.getHeight();
@@ -432,7 +424,7 @@ public final class GridSetupDialog {
         gc.setFill(Color.web("#464648"));
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                if (mask == null || mask[r][c]) {
+                if (mask == null || mask.isEnabled(r, c)) {
                     double x = offsetX + c * cellSize;
                     double y = offsetY + r * cellSize;
                     gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
@@ -1,17 +1,19 @@
 package UI;
 
+import UI.Battle.ShapeMask;
+
 /** A user-painted battle grid shape, saved under a name for reuse. */
 public class GridShapePreset {
 
     private String name;
     private int rows;
     private int cols;
-    private boolean[][] mask;
+    private ShapeMask mask; // run-length encoded on disk, see ShapeMaskTypeAdapter
 
     // No-arg constructor for Gson
     private GridShapePreset() {}
 
-    public GridShapePreset(String name, int rows, int cols, boolean[][] mask) {
+    public GridShapePreset(String name, int rows, int cols, ShapeMask mask) {
         this.name = name;
         this.rows = rows;
         this.cols = cols;
@@ -30,7 +32,11 @@ public class GridShapePreset {
         return cols;
     }
 
-    public boolean[][] getMask() {
+    public ShapeMask getMask() {
+        if (mask == null) {
+            // A preset saved without a mask (hand-edited or truncated file) falls back to a full rectangle
+            mask = ShapeMask.full(rows, cols);
+        }
         return mask;
     }
 }
@@ -1,6 +1,7 @@
 package UI;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
@@ -11,7 +12,8 @@ import java.util.Map;
  * Persists user-painted grid shapes. Mirrors {@link TerrainDatabase}'s
  * singleton/lazy-load/Gson pattern, but tracks each preset's source file so
  * deletion actually removes it from disk (TerrainDatabase.deleteTerrain
- * notably does not - it only forgets the in-memory entry).
+ * notably does not - it only forgets the in-memory entry). Masks are stored
+ * run-length encoded via {@link ShapeMaskTypeAdapter}.
  */
 public class GridShapePresetDatabase {
 
@@ -41,7 +43,7 @@ public class GridShapePresetDatabase {
         if (files == null) {
             return;
         }
-        Gson gson = new Gson();
+        Gson gson = ShapeMaskTypeAdapter.createGson();
         for (File file : files) {
             try (FileReader reader = new FileReader(file)) {
                 GridShapePreset preset = gson.fromJson(reader, GridShapePreset.class);
@@ -49,7 +51,7 @@ public class GridShapePresetDatabase {
                     presets.add(preset);
                     sourceFiles.put(preset, file);
                 }
-            } catch (IOException e) {
+            } catch (IOException | JsonParseException e) {
                 e.printStackTrace();
             }
         }
@@ -58,7 +60,7 @@ public class GridShapePresetDatabase {
     public void savePreset(GridShapePreset preset) {
         new File(DIR).mkdirs();
         String path = DIR + "/" + preset.getName().replaceAll("[^a-zA-Z0-9]", "_") + ".json";
-        Gson gson = new Gson();
+        Gson gson = ShapeMaskTypeAdapter.createGson();
         try (FileWriter writer = new FileWriter(path)) {
             gson.toJson(preset, writer);
         } catch (IOException e) {
@@ -0,0 +1,49 @@
+package UI;
+
+import UI.Battle.ShapeMask;
+import com.google.gson.*;
+import java.lang.reflect.Type;
+
+/**
+ * Custom Gson adapter that writes a {@link ShapeMask} as its compact run-length
+ * string instead of one JSON boolean per cell. Still reads the old jagged
+ * boolean[][] form, so presets saved before the switch keep loading.
+ */
+public class ShapeMaskTypeAdapter implements JsonDeserializer<ShapeMask>, JsonSerializer<ShapeMask> {
+
+    @Override
+    public ShapeMask deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
+            throws JsonParseException {
+        if (json == null || json.isJsonNull()) {
+            return null;
+        }
+
+        if (json.isJsonPrimitive()) {
+            try {
+                return ShapeMask.fromRunLength(json.getAsString());
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(e.getMessage(), e);
+            }
+        }
+
+        // Legacy format: [[true, false, ...], ...]
+        boolean[][] cells = context.deserialize(json, boolean[][].class);
+        int rows = cells.length;
+        int cols = rows > 0 && cells[0] != null ? cells[0].length : 0;
+        return ShapeMask.fromArray(cells, rows, cols);
+    }
+
+    @Override
+    public JsonElement serialize(ShapeMask src, Type typeOfSrc, JsonSerializationContext context) {
+        return new JsonPrimitive(src.toRunLength());
+    }
+
+    /**
+     * Creates a Gson instance that reads and writes ShapeMasks in run-length form.
+     */
+    public static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(ShapeMask.class, new ShapeMaskTypeAdapter())
+                .create();
+    }
+}